@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dmg.pmml.Array;
+import org.dmg.pmml.DataType;
+
+/**
+ * <p>
+ * An intern pool for {@link Array arrays}.
+ * </p>
+ *
+ * <p>
+ * Arrays are looked up by data type and value list,
+ * so that a repeated value list does not allocate a new array (nor a copy of the value list).
+ * Arrays that are handed out by this manager should be treated as immutable.
+ * </p>
+ */
+public class ArrayManager {
+
+	private Map<ArrayKey, Array> cache = new ConcurrentHashMap<>();
+
+
+	public Array createArray(DataType dataType, List<?> values){
+		Array array = this.cache.get(new ArrayKey(dataType, values));
+
+		if(array == null){
+			array = PMMLUtil.createArray(dataType, values);
+
+			// The array holds a private copy of the value list
+			Array prevArray = this.cache.putIfAbsent(new ArrayKey(dataType, (List<?>)array.getValue()), array);
+			if(prevArray != null){
+				array = prevArray;
+			}
+		}
+
+		return array;
+	}
+
+	public int size(){
+		return this.cache.size();
+	}
+
+	static
+	private class ArrayKey {
+
+		private DataType dataType = null;
+
+		private List<?> values = null;
+
+		private int hashCode = 0;
+
+
+		private ArrayKey(DataType dataType, List<?> values){
+			this.dataType = Objects.requireNonNull(dataType);
+			this.values = Objects.requireNonNull(values);
+
+			this.hashCode = (31 * dataType.hashCode()) + values.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object object){
+
+			if(object instanceof ArrayKey){
+				ArrayKey that = (ArrayKey)object;
+
+				return (this.hashCode == that.hashCode) && (this.dataType == that.dataType) && (this.values).equals(that.values);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode(){
+			return this.hashCode;
+		}
+	}
+}
@@ -19,7 +19,6 @@
 package org.jpmml.converter;
 
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -34,17 +33,35 @@ public class CategoryManager extends ValueManager<Set<Object>> {
 		super(valueMap);
 	}
 
+	protected CategoryManager(CategoryManager parent, String name, Set<Object> values){
+		super(parent, name, values);
+	}
+
+	/**
+	 * <p>
+	 * Declares the full domain of a categorical feature.
+	 * Subsequent forks on the same name are backed by {@link CategorySet bitsets} over this domain.
+	 * </p>
+	 */
+	public CategoryManager fork(CategoricalFeature categoricalFeature){
+		return fork(categoricalFeature.getName(), CategorySet.create(categoricalFeature.getValues()));
+	}
+
 	public CategoryManager fork(String name, Collection<Object> values){
+		Set<Object> parentValues = getValue(name);
+
+		if(parentValues instanceof CategorySet){
+			CategorySet categorySet = (CategorySet)parentValues;
+
+			return fork(name, categorySet.subset(values));
+		}
+
 		return fork(name, new LinkedHashSet<>(values));
 	}
 
 	@Override
 	public CategoryManager fork(String name, Set<Object> values){
-		Map<String, Set<Object>> valueMap = new LinkedHashMap<>(getValueMap());
-
-		valueMap.put(name, values);
-
-		return new CategoryManager(valueMap);
+		return new CategoryManager(this, name, values);
 	}
 
 	public Predicate<Object> getValueFilter(String name){
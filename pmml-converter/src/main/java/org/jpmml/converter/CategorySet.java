@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * An immutable set of categories, which is backed by a bitset over the indices of a fixed list of categories (the domain).
+ * </p>
+ *
+ * <p>
+ * Set operations between category sets over the same domain are performed word-wise.
+ * </p>
+ */
+public class CategorySet extends AbstractSet<Object> {
+
+	private List<?> values = null;
+
+	private Map<Object, Integer> indices = null;
+
+	private BitSet bits = null;
+
+
+	private CategorySet(List<?> values, Map<Object, Integer> indices, BitSet bits){
+		this.values = values;
+		this.indices = indices;
+		this.bits = bits;
+	}
+
+	@Override
+	public boolean contains(Object value){
+		int index = indexOf(value);
+
+		return (index > -1) && this.bits.get(index);
+	}
+
+	@Override
+	public int size(){
+		return this.bits.cardinality();
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return this.bits.isEmpty();
+	}
+
+	@Override
+	public Iterator<Object> iterator(){
+		Iterator<Object> result = new Iterator<Object>(){
+
+			private int index = CategorySet.this.bits.nextSetBit(0);
+
+
+			@Override
+			public boolean hasNext(){
+				return (this.index > -1);
+			}
+
+			@Override
+			public Object next(){
+
+				if(this.index < 0){
+					throw new NoSuchElementException();
+				}
+
+				Object value = CategorySet.this.values.get(this.index);
+
+				this.index = CategorySet.this.bits.nextSetBit(this.index + 1);
+
+				return value;
+			}
+		};
+
+		return result;
+	}
+
+	/**
+	 * @return The domain of this category set.
+	 */
+	public List<?> getValues(){
+		return this.values;
+	}
+
+	public boolean isCompatible(CategorySet categorySet){
+		return (this.indices == categorySet.indices);
+	}
+
+	/**
+	 * @return A category set of the same domain if all values belong to the domain, a generic set otherwise.
+	 */
+	public Set<Object> subset(Collection<?> values){
+		BitSet bits = new BitSet(this.values.size());
+
+		for(Object value : values){
+			int index = indexOf(value);
+
+			if(index < 0){
+				return new LinkedHashSet<>(values);
+			}
+
+			bits.set(index);
+		}
+
+		return new CategorySet(this.values, this.indices, bits);
+	}
+
+	public CategorySet intersect(CategorySet categorySet){
+		checkCompatibility(categorySet);
+
+		BitSet bits = (BitSet)this.bits.clone();
+		bits.and(categorySet.bits);
+
+		return new CategorySet(this.values, this.indices, bits);
+	}
+
+	public CategorySet union(CategorySet categorySet){
+		checkCompatibility(categorySet);
+
+		BitSet bits = (BitSet)this.bits.clone();
+		bits.or(categorySet.bits);
+
+		return new CategorySet(this.values, this.indices, bits);
+	}
+
+	public CategorySet difference(CategorySet categorySet){
+		checkCompatibility(categorySet);
+
+		BitSet bits = (BitSet)this.bits.clone();
+		bits.andNot(categorySet.bits);
+
+		return new CategorySet(this.values, this.indices, bits);
+	}
+
+	/**
+	 * @return A category set that contains all domain values that are not contained in this category set.
+	 */
+	public CategorySet complement(){
+		BitSet bits = (BitSet)this.bits.clone();
+		bits.flip(0, this.values.size());
+
+		return new CategorySet(this.values, this.indices, bits);
+	}
+
+	public CategorySet filter(Predicate<Object> predicate){
+		BitSet bits = new BitSet(this.values.size());
+
+		for(int index = this.bits.nextSetBit(0); index > -1; index = this.bits.nextSetBit(index + 1)){
+
+			if(predicate.test(this.values.get(index))){
+				bits.set(index);
+			}
+		}
+
+		return new CategorySet(this.values, this.indices, bits);
+	}
+
+	private int indexOf(Object value){
+		Integer index = this.indices.get(value);
+
+		if(index != null){
+			return index;
+		}
+
+		return -1;
+	}
+
+	private void checkCompatibility(CategorySet categorySet){
+
+		if(!isCompatible(categorySet)){
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * @param values The domain. Values must be unique.
+	 *
+	 * @return A category set that contains all domain values.
+	 */
+	static
+	public CategorySet create(List<?> values){
+		Map<Object, Integer> indices = new HashMap<>(2 * values.size());
+
+		for(int i = 0; i < values.size(); i++){
+			Object value = values.get(i);
+
+			Integer prevIndex = indices.put(Objects.requireNonNull(value), i);
+			if(prevIndex != null){
+				throw new IllegalArgumentException("Value " + value + " is not unique");
+			}
+		}
+
+		BitSet bits = new BitSet(values.size());
+		bits.set(0, values.size());
+
+		return new CategorySet(values, indices, bits);
+	}
+}
@@ -27,6 +27,8 @@ public class ConstantFeature extends Feature implements HasDerivedName {
 
 	private Number value = null;
 
+	private String derivedName = null;
+
 
 	public ConstantFeature(PMMLEncoder encoder, Number value){
 		this(encoder, value.toString() + (value instanceof Float ? "f" : ""), TypeUtil.getDataType(value), value);
@@ -40,7 +42,12 @@ public class ConstantFeature extends Feature implements HasDerivedName {
 
 	@Override
 	public String getDerivedName(){
-		return FieldNameUtil.create("constant", getName());
+
+		if(this.derivedName == null){
+			this.derivedName = createDerivedName("constant", getName());
+		}
+
+		return this.derivedName;
 	}
 
 	@Override
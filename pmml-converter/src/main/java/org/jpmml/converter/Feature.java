@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -38,6 +39,8 @@ public class Feature {
 
 	private DataType dataType = null;
 
+	private Map.Entry<DataType, String> castName = null;
+
 
 	public Feature(PMMLEncoder encoder, String name, DataType dataType){
 		setEncoder(encoder);
@@ -55,11 +58,23 @@ public class Feature {
 			return continuousFeature;
 		}
 
-		String name = FieldNameUtil.create(dataType, continuousFeature);
+		String name = getCastName(dataType, continuousFeature);
 
 		return toContinuousFeature(name, dataType, continuousFeature::ref);
 	}
 
+	/**
+	 * <p>
+	 * Computes a derived name, and interns it with the encoder.
+	 * Subclasses should invoke this method once, and cache the result.
+	 * </p>
+	 */
+	protected String createDerivedName(String function, Object... args){
+		PMMLEncoder encoder = getEncoder();
+
+		return encoder.internName(FieldNameUtil.create(function, args));
+	}
+
 	protected ContinuousFeature toContinuousFeature(String name, DataType dataType, Supplier<? extends Expression> expressionSupplier){
 		PMMLEncoder encoder = getEncoder();
 
@@ -139,4 +154,19 @@ public class Feature {
 	private void setDataType(DataType dataType){
 		this.dataType = Objects.requireNonNull(dataType);
 	}
+
+	private String getCastName(DataType dataType, ContinuousFeature continuousFeature){
+		Map.Entry<DataType, String> castName = this.castName;
+
+		// Features are (typically) cast to a single target data type
+		if(castName == null || castName.getKey() != dataType){
+			PMMLEncoder encoder = getEncoder();
+
+			castName = Map.entry(dataType, encoder.internName(FieldNameUtil.create(dataType, continuousFeature)));
+
+			this.castName = castName;
+		}
+
+		return castName.getValue();
+	}
 }
\ No newline at end of file
@@ -78,6 +78,11 @@ public class FeatureUtil {
 		return feature.getName();
 	}
 
+	static
+	public Feature findLabelFeature(Schema schema, ScalarLabel scalarLabel){
+		return schema.findLabelFeature(scalarLabel);
+	}
+
 	static
 	public Feature findLabelFeature(List<? extends Feature> features, ScalarLabel scalarLabel){
 
@@ -88,9 +93,22 @@ public class FeatureUtil {
 		return findFeature(features, scalarLabel.getName());
 	}
 
+	static
+	public Feature findFeature(Schema schema, String name){
+		return schema.findFeature(name);
+	}
+
 	static
 	public Feature findFeature(List<? extends Feature> features, String name){
 
+		if(features instanceof IndexedFeatureList){
+			IndexedFeatureList indexedFeatures = (IndexedFeatureList)features;
+
+			int index = indexedFeatures.indexOf(name);
+
+			return (index > -1 ? indexedFeatures.get(index) : null);
+		}
+
 		for(Feature feature : features){
 
 			if(Objects.equals(feature.getName(), name)){
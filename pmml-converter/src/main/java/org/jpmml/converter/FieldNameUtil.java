@@ -20,8 +20,6 @@ package org.jpmml.converter;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.dmg.pmml.DataType;
 import org.dmg.pmml.DefineFunction;
@@ -72,27 +70,42 @@ public class FieldNameUtil {
 
 		if(args == null || args.isEmpty()){
 			return function;
+		}
+
+		StringBuilder sb = new StringBuilder(function.length() + 16 * Math.min(args.size(), 5));
+
+		sb.append(function).append('(');
+
+		int size = args.size();
+
+		if(size <= 5){
+
+			for(int i = 0; i < size; i++){
+				append(sb, i, args.get(i));
+			}
 		} else
 
 		{
-			Stream<?> argStream;
-
-			if(args.size() <= 5){
-				argStream = args.stream();
-			} else
-
-			{
-				argStream = Stream.of(
-					args.subList(0, 2).stream(),
-					Stream.of(".."),
-					args.subList(args.size() - 2, args.size()).stream()
-				).flatMap(x -> x);
-			}
+			append(sb, 0, args.get(0));
+			append(sb, 1, args.get(1));
+			append(sb, 2, "..");
+			append(sb, 3, args.get(size - 2));
+			append(sb, 4, args.get(size - 1));
+		}
+
+		sb.append(')');
+
+		return sb.toString();
+	}
 
-			return argStream
-				.map(FieldNameUtil::toString)
-				.collect(Collectors.joining(", ", function + "(", ")"));
+	static
+	private void append(StringBuilder sb, int index, Object arg){
+
+		if(index > 0){
+			sb.append(", ");
 		}
+
+		sb.append(toString(arg));
 	}
 
 	static
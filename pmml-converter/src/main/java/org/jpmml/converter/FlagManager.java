@@ -18,7 +18,6 @@
  */
 package org.jpmml.converter;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class FlagManager extends ValueManager<Boolean> {
@@ -30,12 +29,12 @@ public class FlagManager extends ValueManager<Boolean> {
 		super(valueMap);
 	}
 
+	protected FlagManager(FlagManager parent, String name, Boolean value){
+		super(parent, name, value);
+	}
+
 	@Override
 	public FlagManager fork(String name, Boolean value){
-		Map<String, Boolean> valueMap = new LinkedHashMap<>(getValueMap());
-
-		valueMap.put(name, value);
-
-		return new FlagManager(valueMap);
+		return new FlagManager(this, name, value);
 	}
 }
\ No newline at end of file
@@ -28,6 +28,9 @@ import org.dmg.pmml.OpType;
 
 public class IndexFeature extends CategoricalFeature {
 
+	private String derivedName = null;
+
+
 	public IndexFeature(PMMLEncoder encoder, Field<?> field, List<? extends Number> values){
 		this(encoder, field.requireName(), field.requireDataType(), values);
 	}
@@ -55,6 +58,10 @@ public class IndexFeature extends CategoricalFeature {
 			return IndexFeature.this.ref();
 		};
 
-		return toContinuousFeature(FieldNameUtil.create(OpType.CONTINUOUS, this), getDataType(), fieldRefSupplier);
+		if(this.derivedName == null){
+			this.derivedName = encoder.internName(FieldNameUtil.create(OpType.CONTINUOUS, this));
+		}
+
+		return toContinuousFeature(this.derivedName, getDataType(), fieldRefSupplier);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A feature list view that supports constant time lookup by name and by identity.
+ * </p>
+ *
+ * <p>
+ * Lookup tables are built on first use, and are rebuilt after every modification that is made via this view.
+ * Modifications that are made directly to the backing list are detected by validating every lookup result against the backing list.
+ * </p>
+ */
+class IndexedFeatureList extends AbstractList<Feature> implements RandomAccess {
+
+	private List<? extends Feature> features = null;
+
+	private int version = 0;
+
+	private int indexedVersion = -1;
+
+	private int indexedSize = -1;
+
+	private Map<String, Integer> nameIndexes = null;
+
+	private Map<Feature, Integer> featureIndexes = null;
+
+
+	IndexedFeatureList(List<? extends Feature> features){
+		this.features = Objects.requireNonNull(features);
+	}
+
+	@Override
+	public Feature get(int index){
+		return this.features.get(index);
+	}
+
+	@Override
+	public int size(){
+		return this.features.size();
+	}
+
+	// All modifications (including those made via iterators and sub-lists) are routed through the following methods.
+	// Replacements are not structural modifications, and must not increment the modification count
+
+	@Override
+	public Feature set(int index, Feature feature){
+		Feature result = getFeatures().set(index, feature);
+
+		this.version++;
+
+		return result;
+	}
+
+	@Override
+	public void add(int index, Feature feature){
+		getFeatures().add(index, feature);
+
+		this.modCount++;
+		this.version++;
+	}
+
+	@Override
+	public Feature remove(int index){
+		Feature result = getFeatures().remove(index);
+
+		this.modCount++;
+		this.version++;
+
+		return result;
+	}
+
+	/**
+	 * @return The index of the first feature with the specified name, or <code>-1</code>.
+	 */
+	public int indexOf(String name){
+		Map<String, Integer> nameIndexes;
+
+		synchronized(this){
+			ensureIndexed();
+
+			nameIndexes = this.nameIndexes;
+		}
+
+		Integer index = nameIndexes.get(name);
+		if(index != null && index < size() && Objects.equals(get(index).getName(), name)){
+			return index;
+		}
+
+		// The lookup tables are out of date, or the feature does not exist
+		for(int i = 0; i < size(); i++){
+			Feature feature = get(i);
+
+			if(Objects.equals(feature.getName(), name)){
+				invalidate();
+
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return The index of the first occurrence of the specified feature (as identified by object identity), or <code>-1</code>.
+	 */
+	public int identityIndexOf(Feature feature){
+		Map<Feature, Integer> featureIndexes;
+
+		synchronized(this){
+			ensureIndexed();
+
+			featureIndexes = this.featureIndexes;
+		}
+
+		Integer index = featureIndexes.get(feature);
+		if(index != null && index < size() && get(index) == feature){
+			return index;
+		}
+
+		// The lookup tables are out of date, or the feature does not exist
+		for(int i = 0; i < size(); i++){
+
+			if(get(i) == feature){
+				invalidate();
+
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	List<? extends Feature> getBackingList(){
+		return this.features;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Feature> getFeatures(){
+		return (List<Feature>)this.features;
+	}
+
+	synchronized
+	private void invalidate(){
+		this.indexedVersion = -1;
+	}
+
+	private void ensureIndexed(){
+		List<? extends Feature> features = this.features;
+
+		if(this.indexedVersion == this.version && this.indexedSize == features.size()){
+			return;
+		}
+
+		Map<String, Integer> nameIndexes = new HashMap<>(2 * features.size());
+		Map<Feature, Integer> featureIndexes = new IdentityHashMap<>(features.size());
+
+		for(int i = 0; i < features.size(); i++){
+			Feature feature = features.get(i);
+
+			// First match wins
+			nameIndexes.putIfAbsent(feature.getName(), i);
+			featureIndexes.putIfAbsent(feature, i);
+		}
+
+		this.nameIndexes = nameIndexes;
+		this.featureIndexes = featureIndexes;
+
+		this.indexedVersion = this.version;
+		this.indexedSize = features.size();
+	}
+}
@@ -44,23 +44,40 @@ public class InteractionFeature extends Feature {
 		setFeatures(features);
 	}
 
+	/**
+	 * <p>
+	 * Encodes the product of features as a chain of binary <code>*</code> function invocations.
+	 * The n-ary <code>product</code> function is not suitable, because it ignores missing arguments.
+	 * </p>
+	 *
+	 * <p>
+	 * The partial products of three or more features are declared as DerivedFields, which are named after their arguments.
+	 * Interaction features that begin with the same features (eg. <code>x*y*z</code> and <code>x*y*w</code>) therefore share the DerivedField for the common prefix.
+	 * </p>
+	 */
 	@Override
 	public ContinuousFeature toContinuousFeature(){
 		Supplier<Apply> applySupplier = () -> {
 			List<? extends Feature> features = getFeatures();
 
-			Apply apply = ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ((features.get(0)).toContinuousFeature()).ref(), ((features.get(1)).toContinuousFeature()).ref());
+			ContinuousFeature prefix = (features.get(0)).toContinuousFeature();
 
-			for(int i = 2; i < features.size(); i++){
-				apply = ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, apply, ((features.get(i)).toContinuousFeature()).ref());
+			for(int i = 1; i < features.size() - 1; i++){
+				prefix = toProductFeature(prefix, (features.get(i)).toContinuousFeature());
 			}
 
-			return apply;
+			return ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, prefix.ref(), ((features.get(features.size() - 1)).toContinuousFeature()).ref());
 		};
 
 		return toContinuousFeature(getName(), DataType.DOUBLE, applySupplier);
 	}
 
+	private ContinuousFeature toProductFeature(ContinuousFeature left, ContinuousFeature right){
+		Supplier<Apply> applySupplier = () -> ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, left.ref(), right.ref());
+
+		return toContinuousFeature(FieldNameUtil.create(PMMLFunctions.MULTIPLY, left, right), DataType.DOUBLE, applySupplier);
+	}
+
 	@Override
 	public int hashCode(){
 		return (31 * super.hashCode()) + Objects.hashCode(this.getFeatures());
@@ -27,6 +27,9 @@ import org.dmg.pmml.PMMLFunctions;
  */
 public class MissingValueFeature extends Feature implements HasDerivedName {
 
+	private String derivedName = null;
+
+
 	public MissingValueFeature(PMMLEncoder encoder, Field<?> field){
 		this(encoder, field.requireName(), field.requireDataType());
 	}
@@ -41,7 +44,12 @@ public class MissingValueFeature extends Feature implements HasDerivedName {
 
 	@Override
 	public String getDerivedName(){
-		return FieldNameUtil.create(PMMLFunctions.ISMISSING, getName());
+
+		if(this.derivedName == null){
+			this.derivedName = createDerivedName(PMMLFunctions.ISMISSING, getName());
+		}
+
+		return this.derivedName;
 	}
 
 	@Override
@@ -20,6 +20,7 @@ package org.jpmml.converter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,8 @@ public class PMMLEncoder {
 
 	private Map<String, DefineFunction> defineFunctions = new LinkedHashMap<>();
 
+	private Map<String, String> names = new HashMap<>();
+
 
 	public PMML encodePMML(){
 
@@ -236,6 +239,26 @@ public class PMMLEncoder {
 		this.defineFunctions.put(name, defineFunction);
 	}
 
+	/**
+	 * <p>
+	 * Returns the canonical representation of a (derived-) field name.
+	 * </p>
+	 *
+	 * <p>
+	 * Derived names are computed repeatedly for the same features.
+	 * Interning them makes equal names share a single {@link String} instance.
+	 * </p>
+	 */
+	public String internName(String name){
+		String result = this.names.putIfAbsent(name, name);
+
+		if(result == null){
+			return name;
+		}
+
+		return result;
+	}
+
 	public Map<String, DataField> getDataFields(){
 		return this.dataFields;
 	}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A persistent (ie. immutable, structurally shared) hash array mapped trie.
+ * </p>
+ *
+ * <p>
+ * Updates copy the path from the root node to the updated entry, and share everything else with the original trie.
+ * Entries keep their original insertion order.
+ * </p>
+ */
+class PersistentMap<V> {
+
+	private Node root = null;
+
+	private int size = 0;
+
+
+	private PersistentMap(Node root, int size){
+		this.root = root;
+		this.size = size;
+	}
+
+	public int size(){
+		return this.size;
+	}
+
+	public V get(String key){
+		Entry entry = this.root.find(hash(key), 0, key);
+
+		if(entry != null){
+			return cast(entry.value);
+		}
+
+		return null;
+	}
+
+	public PersistentMap<V> put(String key, V value){
+		int hash = hash(key);
+
+		Entry entry = this.root.find(hash, 0, key);
+		if(entry != null){
+
+			if(entry.value == value){
+				return this;
+			}
+
+			return new PersistentMap<>(this.root.put(new Entry(hash, key, value, entry.index), 0), this.size);
+		}
+
+		return new PersistentMap<>(this.root.put(new Entry(hash, key, value, this.size), 0), this.size + 1);
+	}
+
+	public PersistentMap<V> putAll(Map<String, ? extends V> map){
+		PersistentMap<V> result = this;
+
+		Collection<? extends Map.Entry<String, ? extends V>> entries = map.entrySet();
+		for(Map.Entry<String, ? extends V> entry : entries){
+			result = result.put(entry.getKey(), entry.getValue());
+		}
+
+		return result;
+	}
+
+	public Map<String, V> toMap(){
+		List<Entry> entries = new ArrayList<>(this.size);
+
+		this.root.collect(entries);
+
+		entries.sort(Comparator.comparingInt(entry -> entry.index));
+
+		Map<String, V> result = new LinkedHashMap<>(2 * this.size);
+
+		for(Entry entry : entries){
+			result.put(entry.key, cast(entry.value));
+		}
+
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	static
+	private <V> V cast(Object value){
+		return (V)value;
+	}
+
+	@SuppressWarnings("unchecked")
+	static
+	public <V> PersistentMap<V> empty(){
+		return (PersistentMap<V>)PersistentMap.EMPTY;
+	}
+
+	static
+	private int hash(String key){
+		int hash = Objects.hashCode(key);
+
+		return hash ^ (hash >>> 16);
+	}
+
+	static
+	private int bit(int hash, int shift){
+		return 1 << ((hash >>> shift) & 0x1f);
+	}
+
+	static
+	private Node createNode(Entry left, Entry right, int shift){
+
+		if(left.hash == right.hash){
+			return new CollisionNode(left.hash, new Entry[]{left, right});
+		}
+
+		return BitmapNode.EMPTY
+			.put(left, shift)
+			.put(right, shift);
+	}
+
+	static
+	private class Entry {
+
+		private int hash = 0;
+
+		private String key = null;
+
+		private Object value = null;
+
+		private int index = 0;
+
+
+		private Entry(int hash, String key, Object value, int index){
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+			this.index = index;
+		}
+	}
+
+	abstract
+	static
+	private class Node {
+
+		abstract
+		Entry find(int hash, int shift, String key);
+
+		abstract
+		Node put(Entry entry, int shift);
+
+		abstract
+		void collect(List<Entry> entries);
+	}
+
+	static
+	private class BitmapNode extends Node {
+
+		private int bitmap = 0;
+
+		/**
+		 * Elements are either {@link Entry entries} or {@link Node sub-nodes}.
+		 */
+		private Object[] elements = null;
+
+
+		private BitmapNode(int bitmap, Object[] elements){
+			this.bitmap = bitmap;
+			this.elements = elements;
+		}
+
+		@Override
+		Entry find(int hash, int shift, String key){
+			int bit = bit(hash, shift);
+
+			if((this.bitmap & bit) == 0){
+				return null;
+			}
+
+			Object element = this.elements[index(bit)];
+
+			if(element instanceof Node){
+				Node node = (Node)element;
+
+				return node.find(hash, shift + 5, key);
+			}
+
+			Entry entry = (Entry)element;
+
+			if(entry.hash == hash && Objects.equals(entry.key, key)){
+				return entry;
+			}
+
+			return null;
+		}
+
+		@Override
+		Node put(Entry entry, int shift){
+			int bit = bit(entry.hash, shift);
+			int index = index(bit);
+
+			if((this.bitmap & bit) == 0){
+				Object[] elements = new Object[this.elements.length + 1];
+
+				System.arraycopy(this.elements, 0, elements, 0, index);
+				elements[index] = entry;
+				System.arraycopy(this.elements, index, elements, index + 1, this.elements.length - index);
+
+				return new BitmapNode(this.bitmap | bit, elements);
+			}
+
+			Object element = this.elements[index];
+
+			Object updatedElement;
+
+			if(element instanceof Node){
+				Node node = (Node)element;
+
+				updatedElement = node.put(entry, shift + 5);
+			} else
+
+			{
+				Entry prevEntry = (Entry)element;
+
+				if(prevEntry.hash == entry.hash && Objects.equals(prevEntry.key, entry.key)){
+					updatedElement = entry;
+				} else
+
+				{
+					updatedElement = createNode(prevEntry, entry, shift + 5);
+				}
+			}
+
+			Object[] elements = Arrays.copyOf(this.elements, this.elements.length);
+			elements[index] = updatedElement;
+
+			return new BitmapNode(this.bitmap, elements);
+		}
+
+		@Override
+		void collect(List<Entry> entries){
+
+			for(Object element : this.elements){
+
+				if(element instanceof Node){
+					Node node = (Node)element;
+
+					node.collect(entries);
+				} else
+
+				{
+					entries.add((Entry)element);
+				}
+			}
+		}
+
+		private int index(int bit){
+			return Integer.bitCount(this.bitmap & (bit - 1));
+		}
+
+		private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+	}
+
+	/**
+	 * A node for entries whose keys have identical hash codes.
+	 */
+	static
+	private class CollisionNode extends Node {
+
+		private int hash = 0;
+
+		private Entry[] entries = null;
+
+
+		private CollisionNode(int hash, Entry[] entries){
+			this.hash = hash;
+			this.entries = entries;
+		}
+
+		@Override
+		Entry find(int hash, int shift, String key){
+
+			if(this.hash != hash){
+				return null;
+			}
+
+			for(Entry entry : this.entries){
+
+				if(Objects.equals(entry.key, key)){
+					return entry;
+				}
+			}
+
+			return null;
+		}
+
+		@Override
+		Node put(Entry entry, int shift){
+
+			if(this.hash != entry.hash){
+				BitmapNode bitmapNode = new BitmapNode(bit(this.hash, shift), new Object[]{this});
+
+				return bitmapNode.put(entry, shift);
+			}
+
+			for(int i = 0; i < this.entries.length; i++){
+
+				if(Objects.equals(this.entries[i].key, entry.key)){
+					Entry[] entries = Arrays.copyOf(this.entries, this.entries.length);
+					entries[i] = entry;
+
+					return new CollisionNode(this.hash, entries);
+				}
+			}
+
+			Entry[] entries = Arrays.copyOf(this.entries, this.entries.length + 1);
+			entries[this.entries.length] = entry;
+
+			return new CollisionNode(this.hash, entries);
+		}
+
+		@Override
+		void collect(List<Entry> entries){
+			entries.addAll(Arrays.asList(this.entries));
+		}
+	}
+
+	private static final PersistentMap<?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+}
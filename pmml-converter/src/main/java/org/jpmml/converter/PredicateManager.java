@@ -18,7 +18,11 @@
  */
 package org.jpmml.converter;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import org.dmg.pmml.Array;
 import org.dmg.pmml.CompoundPredicate;
@@ -31,8 +35,51 @@ public class PredicateManager {
 
 	private PMMLObjectCache<Predicate> cache = new PMMLObjectCache<>();
 
+	private ArrayManager arrayManager = null;
+
+
+	public PredicateManager(){
+		this(new ArrayManager());
+	}
+
+	public PredicateManager(ArrayManager arrayManager){
+		setArrayManager(arrayManager);
+	}
 
 	public Predicate createPredicate(Feature feature, List<?> values){
+		return createPredicate(feature, values, false);
+	}
+
+	/**
+	 * <p>
+	 * Creates a membership test predicate.
+	 * </p>
+	 *
+	 * @param allowComplement <code>true</code> if the membership test may be expressed in terms of the complement of the list of values,
+	 * if that is smaller.
+	 * The negated form is equivalent only for values that belong to the domain of the feature.
+	 * The caller must guarantee that invalid values cannot reach the predicate,
+	 * for example by declaring the <code>returnInvalid</code> or <code>asMissing</code> invalid value treatment for the field.
+	 */
+	public Predicate createPredicate(Feature feature, List<?> values, boolean allowComplement){
+
+		if(allowComplement && (feature instanceof CategoricalFeature)){
+			CategoricalFeature categoricalFeature = (CategoricalFeature)feature;
+
+			List<?> complementValues = complement(categoricalFeature.getValues(), values);
+
+			// Both positive and negative membership tests evaluate to UNKNOWN if the input value is missing
+			if(complementValues != null && !complementValues.isEmpty() && complementValues.size() < values.size()){
+
+				if(complementValues.size() == 1){
+					Object value = complementValues.get(0);
+
+					return createSimplePredicate(feature, SimplePredicate.Operator.NOT_EQUAL, value);
+				}
+
+				return createSimpleSetPredicate(feature, SimpleSetPredicate.BooleanOperator.IS_NOT_IN, complementValues);
+			}
+		} // End if
 
 		if(values.size() == 1){
 			Object value = values.get(0);
@@ -50,7 +97,9 @@ public class PredicateManager {
 	}
 
 	public Predicate createSimpleSetPredicate(Feature feature, SimpleSetPredicate.BooleanOperator booleanOperator, List<?> values){
-		Array array = PMMLUtil.createArray(feature.getDataType(), values);
+		ArrayManager arrayManager = getArrayManager();
+
+		Array array = arrayManager.createArray(feature.getDataType(), values);
 
 		Predicate predicate = new SimpleSetPredicate(feature.getName(), booleanOperator, array);
 
@@ -67,4 +116,51 @@ public class PredicateManager {
 	public Predicate intern(Predicate predicate){
 		return this.cache.intern(predicate);
 	}
+
+	public ArrayManager getArrayManager(){
+		return this.arrayManager;
+	}
+
+	private void setArrayManager(ArrayManager arrayManager){
+		this.arrayManager = Objects.requireNonNull(arrayManager);
+	}
+
+	/**
+	 * @return The domain values that are not contained in the list of values,
+	 * or <code>null</code> if the list of values is not a proper subset of the domain.
+	 */
+	static
+	private List<?> complement(List<?> domain, List<?> values){
+
+		// The complement cannot be smaller than the list of values
+		if(2 * values.size() <= domain.size()){
+			return null;
+		}
+
+		Set<?> valueSet = new HashSet<>(values);
+		if(valueSet.size() != values.size()){
+			return null;
+		}
+
+		List<Object> result = new ArrayList<>(domain.size() - values.size());
+
+		int count = 0;
+
+		for(Object value : domain){
+
+			if(valueSet.contains(value)){
+				count++;
+			} else
+
+			{
+				result.add(value);
+			}
+		}
+
+		if(count != valueSet.size()){
+			return null;
+		}
+
+		return result;
+	}
 }
\ No newline at end of file
@@ -18,12 +18,13 @@
  */
 package org.jpmml.converter;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.dmg.pmml.DataType;
 import org.jpmml.model.ToStringHelper;
@@ -34,10 +35,14 @@ public class Schema {
 
 	private Label label = null;
 
-	private List<? extends Feature> features = null;
+	private IndexedFeatureList features = null;
 
 
 	public Schema(ModelEncoder encoder, Label label, List<? extends Feature> features){
+		this(encoder, label, (features instanceof IndexedFeatureList) ? (IndexedFeatureList)features : new IndexedFeatureList(features));
+	}
+
+	private Schema(ModelEncoder encoder, Label label, IndexedFeatureList features){
 		setEncoder(encoder);
 		setLabel(label);
 		setFeatures(features);
@@ -45,9 +50,9 @@ public class Schema {
 
 	public Schema toRelabeledSchema(Label label){
 		ModelEncoder encoder = getEncoder();
-		List<? extends Feature> features = getFeatures();
 
-		return new Schema(encoder, label, features);
+		// The feature list is unchanged, and can be shared together with its lookup tables
+		return new Schema(encoder, label, this.features);
 	}
 
 	public Schema toAnonymousSchema(){
@@ -78,20 +83,16 @@ public class Schema {
 		return new Schema(encoder, label, Collections.emptyList());
 	}
 
+	/**
+	 * <p>
+	 * Creates a sub-schema, whose feature list is an unmodifiable view of the selected features of this schema.
+	 * </p>
+	 */
 	public Schema toSubSchema(int[] indexes){
 		ModelEncoder encoder = getEncoder();
 		Label label = getLabel();
-		List<? extends Feature> features = getFeatures();
-
-		List<Feature> selectedFeatures = new ArrayList<>(indexes.length);
-
-		for(int index : indexes){
-			Feature feature = features.get(index);
 
-			selectedFeatures.add(feature);
-		}
-
-		return new Schema(encoder, label, selectedFeatures);
+		return new Schema(encoder, label, new SelectedFeatureList(this.features.getBackingList(), indexes));
 	}
 
 	public Schema toTransformedSchema(Function<Feature, Feature> function){
@@ -99,9 +100,13 @@ public class Schema {
 		Label label = getLabel();
 		List<? extends Feature> features = getFeatures();
 
-		List<? extends Feature> transformedFeatures = features.stream()
-			.map(function)
-			.collect(Collectors.toList());
+		List<Feature> transformedFeatures = new ArrayList<>(features.size());
+
+		for(Feature feature : features){
+			Feature transformedFeature = function.apply(feature);
+
+			transformedFeatures.add(transformedFeature);
+		}
 
 		return new Schema(encoder, label, transformedFeatures);
 	}
@@ -141,11 +146,113 @@ public class Schema {
 		return features.get(index);
 	}
 
+	/**
+	 * <p>
+	 * Finds the first feature with the specified name.
+	 * </p>
+	 *
+	 * @return A feature, or <code>null</code>.
+	 *
+	 * @see FeatureUtil#findFeature(List, String)
+	 */
+	public Feature findFeature(String name){
+		int index = this.features.indexOf(name);
+
+		if(index < 0){
+			return null;
+		}
+
+		return getFeature(index);
+	}
+
+	/**
+	 * @see FeatureUtil#findLabelFeature(List, ScalarLabel)
+	 */
+	public Feature findLabelFeature(ScalarLabel scalarLabel){
+
+		if(scalarLabel.isAnonymous()){
+			throw new IllegalArgumentException();
+		}
+
+		return findFeature(scalarLabel.getName());
+	}
+
+	/**
+	 * <p>
+	 * Finds the position of the specified feature by identity.
+	 * </p>
+	 *
+	 * @return A non-negative index, or <code>-1</code>.
+	 */
+	public int indexOf(Feature feature){
+		return this.features.identityIndexOf(feature);
+	}
+
+	/**
+	 * <p>
+	 * Gets the list of features.
+	 * The returned list is a view of the list that was passed to the constructor.
+	 * Changes to either list are visible to this schema, and to all relabeled schemas.
+	 * </p>
+	 */
 	public List<? extends Feature> getFeatures(){
 		return this.features;
 	}
 
-	private void setFeatures(List<? extends Feature> features){
+	private void setFeatures(IndexedFeatureList features){
 		this.features = Objects.requireNonNull(features);
 	}
+
+	static
+	private class SelectedFeatureList extends AbstractList<Feature> implements RandomAccess {
+
+		private List<? extends Feature> features = null;
+
+		private int[] indexes = null;
+
+
+		private SelectedFeatureList(List<? extends Feature> features, int[] indexes){
+			indexes = indexes.clone();
+
+			// Collapse nested selections into a single selection over the backing list
+			if(features instanceof SelectedFeatureList){
+				SelectedFeatureList selectedFeatures = (SelectedFeatureList)features;
+
+				for(int i = 0; i < indexes.length; i++){
+					indexes[i] = selectedFeatures.indexes[checkIndex(indexes[i], selectedFeatures.size())];
+				}
+
+				features = selectedFeatures.features;
+			} else
+
+			{
+				for(int i = 0; i < indexes.length; i++){
+					checkIndex(indexes[i], features.size());
+				}
+			}
+
+			this.features = features;
+			this.indexes = indexes;
+		}
+
+		@Override
+		public Feature get(int index){
+			return this.features.get(this.indexes[index]);
+		}
+
+		@Override
+		public int size(){
+			return this.indexes.length;
+		}
+
+		static
+		private int checkIndex(int index, int size){
+
+			if(index < 0 || index >= size){
+				throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+			}
+
+			return index;
+		}
+	}
 }
\ No newline at end of file
@@ -19,7 +19,7 @@
 package org.jpmml.converter;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 import com.google.common.collect.Iterables;
@@ -60,6 +60,11 @@ public class TypeUtil {
 
 	static
 	public DataType getDataType(String value){
+		DataType dataType = classify(value);
+
+		if(dataType != null){
+			return dataType;
+		}
 
 		try {
 			Integer.parseInt(value);
@@ -88,6 +93,16 @@ public class TypeUtil {
 
 	static
 	public DataType getDataType(Collection<?> values, DataType defaultDataType){
+		return getDataType(values, defaultDataType, true);
+	}
+
+	/**
+	 * @param exhaustive If <code>true</code>, then all values are checked.
+	 * If <code>false</code>, then the scan stops as soon as the data type has been widened to {@link DataType#STRING},
+	 * which skips the validation that the remaining values are strings as well.
+	 */
+	static
+	public DataType getDataType(Collection<?> values, DataType defaultDataType, boolean exhaustive){
 
 		if(values.isEmpty()){
 
@@ -100,7 +115,7 @@ public class TypeUtil {
 
 		boolean allStrings = true;
 
-		Set<DataType> dataTypes = new HashSet<>();
+		Set<DataType> dataTypes = EnumSet.noneOf(DataType.class);
 
 		for(Object value : values){
 			DataType dataType;
@@ -116,6 +131,10 @@ public class TypeUtil {
 			}
 
 			dataTypes.add(dataType);
+
+			if(!exhaustive && allStrings && (dataTypes.size() > 1 || dataTypes.contains(DataType.STRING))){
+				return DataType.STRING;
+			}
 		}
 
 		if(dataTypes.size() == 1){
@@ -150,4 +169,158 @@ public class TypeUtil {
 				throw new IllegalArgumentException();
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * <p>
+	 * Classifies a string value without throwing and catching {@link NumberFormatException}.
+	 * </p>
+	 *
+	 * @return The data type, or <code>null</code> if the string value is too exotic
+	 * (eg. non-ASCII digits, hexadecimal floating point literals) for this classifier.
+	 *
+	 * @see Integer#parseInt(String)
+	 * @see Double#parseDouble(String)
+	 */
+	static
+	DataType classify(String value){
+		int begin = 0;
+		int end = value.length();
+
+		// Leading and trailing whitespace, as trimmed by Double#parseDouble(String)
+		while(begin < end && value.charAt(begin) <= ' '){
+			begin++;
+		}
+
+		while(end > begin && value.charAt(end - 1) <= ' '){
+			end--;
+		}
+
+		int i = begin;
+
+		if(i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')){
+			i++;
+		} // End if
+
+		if(i == end){
+			return DataType.STRING;
+		}
+
+		char c = value.charAt(i);
+
+		if(c == 'N' || c == 'I'){
+			String special = value.substring(i, end);
+
+			if(("NaN").equals(special) || ("Infinity").equals(special)){
+				return DataType.DOUBLE;
+			}
+
+			return DataType.STRING;
+		}
+
+		int mantissaDigits = 0;
+
+		boolean decimalPoint = false;
+
+		for(; i < end; i++){
+			c = value.charAt(i);
+
+			if(isDigit(c)){
+				mantissaDigits++;
+			} else
+
+			if(c == '.' && !decimalPoint){
+				decimalPoint = true;
+			} else
+
+			{
+				break;
+			}
+		}
+
+		if(mantissaDigits == 0){
+			return (i < end ? getUnknownDataType(c) : DataType.STRING);
+		} // End if
+
+		if(i == end){
+
+			// A plain integer that is guaranteed to fit into a long value
+			if(!decimalPoint && mantissaDigits <= 18){
+				return DataType.INTEGER;
+			}
+
+			return getDataType(Double.parseDouble(value));
+		} // End if
+
+		if(c == 'e' || c == 'E'){
+			i++;
+
+			if(i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')){
+				i++;
+			}
+
+			int exponentDigits = 0;
+
+			for(; i < end; i++){
+				c = value.charAt(i);
+
+				if(isDigit(c)){
+					exponentDigits++;
+				} else
+
+				{
+					break;
+				}
+			}
+
+			if(exponentDigits == 0){
+				return (i < end ? getUnknownDataType(c) : DataType.STRING);
+			} // End if
+
+			if(i == end){
+				return getDataType(Double.parseDouble(value));
+			}
+		} // End if
+
+		if(c == 'f' || c == 'F' || c == 'd' || c == 'D'){
+
+			if(i == (end - 1)){
+				return getDataType(Double.parseDouble(value));
+			}
+
+			return DataType.STRING;
+		} else
+
+		if(c == 'x' || c == 'X'){
+			// Hexadecimal floating point literal
+			return null;
+		}
+
+		return getUnknownDataType(c);
+	}
+
+	static
+	private DataType getUnknownDataType(char c){
+
+		// Non-ASCII characters may be digits in other scripts
+		if(c >= 0x80){
+			return null;
+		}
+
+		return DataType.STRING;
+	}
+
+	static
+	private DataType getDataType(double value){
+
+		if(DoubleMath.isMathematicalInteger(value)){
+			return DataType.INTEGER;
+		}
+
+		return DataType.DOUBLE;
+	}
+
+	static
+	private boolean isDigit(char c){
+		return (c >= '0' && c <= '9');
+	}
+}
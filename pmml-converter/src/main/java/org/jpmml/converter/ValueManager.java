@@ -18,37 +18,83 @@
  */
 package org.jpmml.converter;
 
-import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 
 abstract
 public class ValueManager<V> {
 
-	private Map<String, V> valueMap = Collections.emptyMap();
+	/**
+	 * The persistent state, which is shared with forks.
+	 * Set to <code>null</code> when {@link #valueMap} becomes the authoritative state.
+	 */
+	private PersistentMap<V> values = null;
+
+	private Map<String, V> valueMap = null;
 
 
 	public ValueManager(){
+		setValues(PersistentMap.empty());
 	}
 
 	public ValueManager(Map<String, V> valueMap){
 		setValueMap(valueMap);
 	}
 
+	/**
+	 * <p>
+	 * Creates a value manager that shares its state with the parent value manager,
+	 * except for the value of the named entry.
+	 * </p>
+	 */
+	protected ValueManager(ValueManager<V> parent, String name, V value){
+		setValues((parent.getValues()).put(name, value));
+	}
+
 	abstract
 	public ValueManager<V> fork(String name, V value);
 
 	public V getValue(String name){
-		Map<String, V> valueMap = getValueMap();
 
-		return valueMap.get(name);
+		if(this.valueMap != null){
+			return this.valueMap.get(name);
+		}
+
+		return this.values.get(name);
 	}
 
+	/**
+	 * <p>
+	 * Gets the entries of this value manager in insertion order.
+	 * Changes to the returned map are visible to this value manager, but not to forks that have already been created.
+	 * </p>
+	 */
 	public Map<String, V> getValueMap(){
+
+		if(this.valueMap == null){
+			setValueMap(this.values.toMap());
+		}
+
 		return this.valueMap;
 	}
 
+	PersistentMap<V> getValues(){
+
+		if(this.valueMap != null){
+			// The map may have been modified, and cannot be shared
+			return PersistentMap.<V>empty().putAll(this.valueMap);
+		}
+
+		return this.values;
+	}
+
+	private void setValues(PersistentMap<V> values){
+		this.values = Objects.requireNonNull(values);
+		this.valueMap = null;
+	}
+
 	private void setValueMap(Map<String, V> valueMap){
 		this.valueMap = Objects.requireNonNull(valueMap);
+		this.values = null;
 	}
 }
\ No newline at end of file
@@ -336,29 +336,84 @@ public class ValueUtil {
 	}
 
 	static
-	public Number sum(MathContext mathContext, Collection<Number> values){
-		Iterator<Number> it = values.iterator();
+	public Number sum(MathContext mathContext, Collection<? extends Number> values){
+		Iterator<? extends Number> it = values.iterator();
 
-		Number result = it.next();
+		Number first = it.next();
 
-		while(it.hasNext()){
-			result = add(mathContext, result, it.next());
+		if(!it.hasNext()){
+			return first;
+		} // End if
+
+		if(mathContext == null){
+			mathContext = MathContext.DOUBLE;
 		}
 
-		return result;
+		// Accumulate in primitive form, box the final result only
+		switch(mathContext){
+			case FLOAT:
+				{
+					float result = first.floatValue();
+
+					while(it.hasNext()){
+						result += (it.next()).floatValue();
+					}
+
+					return result;
+				}
+			case DOUBLE:
+				{
+					double result = first.doubleValue();
+
+					while(it.hasNext()){
+						result += (it.next()).doubleValue();
+					}
+
+					return result;
+				}
+			default:
+				throw new IllegalArgumentException();
+		}
 	}
 
 	static
-	public Number product(MathContext mathContext, Collection<Number> values){
-		Iterator<Number> it = values.iterator();
+	public Number product(MathContext mathContext, Collection<? extends Number> values){
+		Iterator<? extends Number> it = values.iterator();
 
-		Number result = it.next();
+		Number first = it.next();
 
-		while(it.hasNext()){
-			result = multiply(mathContext, result, it.next());
+		if(!it.hasNext()){
+			return first;
+		} // End if
+
+		if(mathContext == null){
+			mathContext = MathContext.DOUBLE;
 		}
 
-		return result;
+		switch(mathContext){
+			case FLOAT:
+				{
+					float result = first.floatValue();
+
+					while(it.hasNext()){
+						result *= (it.next()).floatValue();
+					}
+
+					return result;
+				}
+			case DOUBLE:
+				{
+					double result = first.doubleValue();
+
+					while(it.hasNext()){
+						result *= (it.next()).doubleValue();
+					}
+
+					return result;
+				}
+			default:
+				throw new IllegalArgumentException();
+		}
 	}
 
 	private static final Double ZERO = Double.valueOf(0d);
@@ -25,9 +25,28 @@ public class XMLUtil {
 
 	static
 	public String createTagName(String string){
-		StringBuilder sb = new StringBuilder();
+		int length = string.length();
 
-		for(int i = 0; i < string.length(); i++){
+		int start = 0;
+
+		// Most names are valid tag names as-is
+		for(; start < length; start++){
+			char c = string.charAt(start);
+
+			boolean valid = (start == 0 ? isTagNameStartChar(c) : isTagNameContinuationChar(c));
+			if(!valid){
+				break;
+			}
+		}
+
+		if(start == length){
+			return string;
+		}
+
+		StringBuilder sb = new StringBuilder(length + 16);
+		sb.append(string, 0, start);
+
+		for(int i = start; i < length; i++){
 			char c = string.charAt(i);
 
 			boolean valid = (i == 0 ? isTagNameStartChar(c) : isTagNameContinuationChar(c));
@@ -20,6 +20,8 @@ package org.jpmml.converter.neural_network;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.dmg.pmml.DataType;
 import org.dmg.pmml.DerivedField;
@@ -43,6 +45,7 @@ import org.jpmml.converter.ContinuousFeature;
 import org.jpmml.converter.ContinuousLabel;
 import org.jpmml.converter.Feature;
 import org.jpmml.converter.Label;
+import org.jpmml.converter.Matrix;
 import org.jpmml.converter.ScalarLabelUtil;
 import org.jpmml.converter.SchemaUtil;
 import org.jpmml.converter.ValueUtil;
@@ -122,6 +125,65 @@ public class NeuralNetworkUtil {
 		return neuron;
 	}
 
+	static
+	public NeuralLayer createNeuralLayer(List<? extends NeuralEntity> entities, Matrix<? extends Number> weights, List<? extends Number> biases, String prefix){
+		int rows = weights.getRows();
+
+		double[][] weightValues = new double[rows][];
+
+		for(int row = 0; row < rows; row++){
+			weightValues[row] = toDoubleArray(weights.getRowValues(row));
+		}
+
+		double[] biasValues = (biases != null ? toDoubleArray(biases) : null);
+
+		return createNeuralLayer(entities, weightValues, biasValues, prefix);
+	}
+
+	static
+	public NeuralLayer createNeuralLayer(List<? extends NeuralEntity> entities, double[][] weights, double[] biases, String prefix){
+		return createNeuralLayer(entities, weights, biases, prefix, (ForkJoinPool)null);
+	}
+
+	/**
+	 * @param weights A row-major matrix, where each row holds the weights of a neuron.
+	 * @param biases Neuron biases. Could be <code>null</code>.
+	 * @param prefix The prefix of neuron identifiers.
+	 * The identifier of the i-th neuron is <code>prefix + "/" + (i + 1)</code>.
+	 * @param forkJoinPool The pool for creating neurons concurrently, or <code>null</code> for sequential execution.
+	 */
+	static
+	public NeuralLayer createNeuralLayer(List<? extends NeuralEntity> entities, double[][] weights, double[] biases, String prefix, ForkJoinPool forkJoinPool){
+		int numberOfNeurons = weights.length;
+
+		if(biases != null && biases.length != numberOfNeurons){
+			throw new IllegalArgumentException();
+		}
+
+		String[] entityIds = new String[entities.size()];
+
+		for(int i = 0; i < entities.size(); i++){
+			NeuralEntity entity = entities.get(i);
+
+			entityIds[i] = entity.requireId();
+		}
+
+		Neuron[] neurons = new Neuron[numberOfNeurons];
+
+		if(forkJoinPool != null){
+			forkJoinPool.invoke(new NeuronAction(entityIds, weights, biases, prefix, neurons, 0, numberOfNeurons));
+		} else
+
+		{
+			createNeurons(entityIds, weights, biases, prefix, neurons, 0, numberOfNeurons);
+		}
+
+		NeuralLayer neuralLayer = new NeuralLayer()
+			.addNeurons(neurons);
+
+		return neuralLayer;
+	}
+
 	static
 	public List<NeuralLayer> createBinaryLogisticTransformation(NeuralEntity entity){
 		NeuralLayer inputLayer = new NeuralLayer()
@@ -200,4 +262,114 @@ public class NeuralNetworkUtil {
 
 		return neuralOutputs;
 	}
-}
\ No newline at end of file
+
+	static
+	private Neuron createNeuron(String[] entityIds, double[] weights, double bias){
+
+		if(entityIds.length != weights.length){
+			throw new IllegalArgumentException();
+		}
+
+		Neuron neuron = new Neuron();
+
+		for(int i = 0; i < weights.length; i++){
+			double weight = weights[i];
+
+			if(isZeroLike(weight)){
+				continue;
+			}
+
+			Connection connection = new Connection()
+				.setFrom(entityIds[i])
+				.setWeight(weight);
+
+			neuron.addConnections(connection);
+		}
+
+		if(!isZeroLike(bias)){
+			neuron.setBias(bias);
+		}
+
+		return neuron;
+	}
+
+	static
+	private boolean isZeroLike(double value){
+		return (value == 0d) || Double.isNaN(value);
+	}
+
+	static
+	private double[] toDoubleArray(List<? extends Number> values){
+		double[] result = new double[values.size()];
+
+		for(int i = 0; i < values.size(); i++){
+			Number value = values.get(i);
+
+			result[i] = (value != null ? value.doubleValue() : 0d);
+		}
+
+		return result;
+	}
+
+	static
+	private void createNeurons(String[] entityIds, double[][] weights, double[] biases, String prefix, Neuron[] neurons, int begin, int end){
+
+		for(int i = begin; i < end; i++){
+			Neuron neuron = createNeuron(entityIds, weights[i], (biases != null ? biases[i] : 0d))
+				.setId(prefix + "/" + String.valueOf(i + 1));
+
+			neurons[i] = neuron;
+		}
+	}
+
+	static
+	private class NeuronAction extends RecursiveAction {
+
+		private String[] entityIds = null;
+
+		private double[][] weights = null;
+
+		private double[] biases = null;
+
+		private String prefix = null;
+
+		private Neuron[] neurons = null;
+
+		private int begin = 0;
+
+		private int end = 0;
+
+
+		private NeuronAction(String[] entityIds, double[][] weights, double[] biases, String prefix, Neuron[] neurons, int begin, int end){
+			this.entityIds = entityIds;
+			this.weights = weights;
+			this.biases = biases;
+			this.prefix = prefix;
+			this.neurons = neurons;
+			this.begin = begin;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute(){
+			int begin = this.begin;
+			int end = this.end;
+
+			if((end - begin) <= NeuralNetworkUtil.BATCH_SIZE){
+
+				createNeurons(this.entityIds, this.weights, this.biases, this.prefix, this.neurons, begin, end);
+
+				return;
+			}
+
+			int middle = (begin + end) >>> 1;
+
+			invokeAll(
+				new NeuronAction(this.entityIds, this.weights, this.biases, this.prefix, this.neurons, begin, middle),
+				new NeuronAction(this.entityIds, this.weights, this.biases, this.prefix, this.neurons, middle, end)
+			);
+		}
+	}
+
+	private static final int BATCH_SIZE = 16;
+}
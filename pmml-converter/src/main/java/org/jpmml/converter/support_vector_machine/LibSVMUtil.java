@@ -19,10 +19,20 @@
 package org.jpmml.converter.support_vector_machine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
+import org.dmg.pmml.Array;
+import org.dmg.pmml.MathContext;
 import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.RealSparseArray;
 import org.dmg.pmml.regression.CategoricalPredictor;
 import org.dmg.pmml.support_vector_machine.Coefficient;
 import org.dmg.pmml.support_vector_machine.Coefficients;
@@ -58,7 +68,7 @@ public class LibSVMUtil {
 
 		VectorDictionary vectorDictionary = LibSVMUtil.createVectorDictionary(sv, ids, schema);
 
-		List<VectorInstance> vectorInstances = vectorDictionary.getVectorInstances();
+		List<VectorInstance> vectorInstances = LibSVMUtil.compactVectorDictionary(vectorDictionary);
 
 		List<SupportVectorMachine> supportVectorMachines = new ArrayList<>();
 		supportVectorMachines.add(LibSVMUtil.createSupportVectorMachine(vectorInstances, rho, coefs));
@@ -77,7 +87,7 @@ public class LibSVMUtil {
 
 		VectorDictionary vectorDictionary = LibSVMUtil.createVectorDictionary(sv, ids, schema);
 
-		List<VectorInstance> vectorInstances = vectorDictionary.getVectorInstances();
+		List<VectorInstance> vectorInstances = LibSVMUtil.compactVectorDictionary(vectorDictionary);
 
 		List<SupportVectorMachine> supportVectorMachines = new ArrayList<>();
 
@@ -120,6 +130,19 @@ public class LibSVMUtil {
 
 	static
 	public VectorDictionary createVectorDictionary(Matrix<? extends Number> sv, List<String> ids, Schema schema){
+		return createVectorDictionary(sv, ids, schema, (ForkJoinPool)null);
+	}
+
+	/**
+	 * <p>
+	 * Creates the vector dictionary in parallel.
+	 * The matrix of support vectors must support concurrent reads.
+	 * </p>
+	 *
+	 * @param forkJoinPool The pool for executing row-level tasks, or <code>null</code> for sequential execution.
+	 */
+	static
+	public VectorDictionary createVectorDictionary(Matrix<? extends Number> sv, List<String> ids, Schema schema, ForkJoinPool forkJoinPool){
 		int numberOfVectors = sv.getRows();
 		int numberOfFeatures = sv.getColumns();
 
@@ -127,23 +150,20 @@ public class LibSVMUtil {
 
 		SchemaUtil.checkSize(numberOfFeatures, features);
 
-		BitSet featureMask = new BitSet(numberOfFeatures);
-
-		Double defaultValue = 0d;
-
-		for(int i = 0; i < numberOfVectors; i++){
-			List<? extends Number> values = sv.getRowValues(i);
+		if(ids.size() != numberOfVectors){
+			throw new IllegalArgumentException();
+		}
 
-			BitSet vectorFeatureMask = ValueUtil.getIndices(values, defaultValue);
+		BitSet featureMask;
 
-			// Set bits that correspond to non-zero values
-			vectorFeatureMask.flip(0, numberOfFeatures);
+		if(forkJoinPool != null){
+			featureMask = forkJoinPool.invoke(new FeatureMaskTask(sv, 0, numberOfVectors));
+		} else
 
-			featureMask.or(vectorFeatureMask);
+		{
+			featureMask = createFeatureMask(sv, 0, numberOfVectors);
 		}
 
-		int numberOfUsedFeatures = featureMask.cardinality();
-
 		VectorFields vectorFields = new VectorFields();
 
 		for(int i = 0; i < numberOfFeatures; i++){
@@ -171,30 +191,55 @@ public class LibSVMUtil {
 			}
 		}
 
-		VectorDictionary vectorDictionary = new VectorDictionary(vectorFields);
+		// Support vector values need to be filtered only if some features are unused
+		BitSet valueMask = (featureMask.cardinality() < numberOfFeatures) ? featureMask : null;
 
-		for(int i = 0; i < numberOfVectors; i++){
-			String id = ids.get(i);
-			List<? extends Number> values = sv.getRowValues(i);
+		VectorInstance[] vectorInstances = new VectorInstance[numberOfVectors];
 
-			if(numberOfUsedFeatures < numberOfFeatures){
-				values = ValueUtil.filterByIndices(values, featureMask);
-			}
+		if(forkJoinPool != null){
+			forkJoinPool.invoke(new VectorInstanceAction(sv, ids, valueMask, vectorInstances, 0, numberOfVectors));
+		} else
 
-			VectorInstance vectorInstance;
+		{
+			createVectorInstances(sv, ids, valueMask, vectorInstances, 0, numberOfVectors);
+		}
 
-			if(ValueUtil.isSparse(values, defaultValue, 0.75d)){
-				vectorInstance = new VectorInstance(id, PMMLUtil.createRealSparseArray(values, defaultValue), null);
-			} else
+		VectorDictionary vectorDictionary = new VectorDictionary(vectorFields)
+			.addVectorInstances(vectorInstances);
 
-			{
-				vectorInstance = new VectorInstance(id, null, PMMLUtil.createRealArray(values));
-			}
+		return vectorDictionary;
+	}
+
+	/**
+	 * <p>
+	 * Removes duplicate vector instances from the vector dictionary.
+	 * Vector instances are considered to be duplicates if they have the same values, irrespective of their identifiers.
+	 * </p>
+	 *
+	 * @return The list of retained vector instances, aligned with the original list of vector instances.
+	 */
+	static
+	public List<VectorInstance> compactVectorDictionary(VectorDictionary vectorDictionary){
+		List<VectorInstance> vectorInstances = vectorDictionary.getVectorInstances();
+
+		List<VectorInstance> result = new ArrayList<>(vectorInstances.size());
+
+		Map<VectorKey, VectorInstance> distinctVectorInstances = new LinkedHashMap<>();
 
-			vectorDictionary.addVectorInstances(vectorInstance);
+		for(VectorInstance vectorInstance : vectorInstances){
+			VectorKey key = new VectorKey(getValues(vectorInstance));
+
+			VectorInstance distinctVectorInstance = distinctVectorInstances.putIfAbsent(key, vectorInstance);
+
+			result.add(distinctVectorInstance != null ? distinctVectorInstance : vectorInstance);
 		}
 
-		return vectorDictionary;
+		if(distinctVectorInstances.size() < vectorInstances.size()){
+			vectorInstances.clear();
+			vectorInstances.addAll(distinctVectorInstances.values());
+		}
+
+		return result;
 	}
 
 	static
@@ -204,16 +249,27 @@ public class LibSVMUtil {
 			throw new IllegalArgumentException();
 		}
 
+		// Duplicate vector instances (as identified by object identity) share a single support vector
+		Map<VectorInstance, Number> vectorInstanceCoefs = new LinkedHashMap<>();
+
+		for(int i = 0; i < vectorInstances.size(); i++){
+			VectorInstance vectorInstance = vectorInstances.get(i);
+			Number coef = coefs.get(i);
+
+			vectorInstanceCoefs.merge(vectorInstance, coef, (left, right) -> ValueUtil.add(MathContext.DOUBLE, left, right));
+		}
+
 		Coefficients coefficients = new Coefficients()
 			.setAbsoluteValue(rho);
 
 		SupportVectors supportVectors = new SupportVectors();
 
-		for(int i = 0; i < vectorInstances.size(); i++){
-			VectorInstance vectorInstance = vectorInstances.get(i);
+		Collection<Map.Entry<VectorInstance, Number>> entries = vectorInstanceCoefs.entrySet();
+		for(Map.Entry<VectorInstance, Number> entry : entries){
+			VectorInstance vectorInstance = entry.getKey();
 
 			Coefficient coefficient = new Coefficient()
-				.setValue(coefs.get(i));
+				.setValue(entry.getValue());
 
 			coefficients.addCoefficients(coefficient);
 
@@ -232,4 +288,201 @@ public class LibSVMUtil {
 	private <E> List<E> slice(List<E> list, int[] offsets, int index){
 		return list.subList(offsets[index], offsets[index + 1]);
 	}
+
+	static
+	private BitSet createFeatureMask(Matrix<? extends Number> sv, int begin, int end){
+		int numberOfFeatures = sv.getColumns();
+
+		BitSet result = new BitSet(numberOfFeatures);
+
+		for(int i = begin; i < end; i++){
+			List<? extends Number> values = sv.getRowValues(i);
+
+			BitSet vectorFeatureMask = ValueUtil.getIndices(values, LibSVMUtil.DEFAULT_VALUE);
+
+			// Set bits that correspond to non-zero values
+			vectorFeatureMask.flip(0, numberOfFeatures);
+
+			result.or(vectorFeatureMask);
+		}
+
+		return result;
+	}
+
+	static
+	private void createVectorInstances(Matrix<? extends Number> sv, List<String> ids, BitSet valueMask, VectorInstance[] vectorInstances, int begin, int end){
+
+		for(int i = begin; i < end; i++){
+			vectorInstances[i] = createVectorInstance(ids.get(i), sv.getRowValues(i), valueMask);
+		}
+	}
+
+	static
+	private VectorInstance createVectorInstance(String id, List<? extends Number> values, BitSet valueMask){
+
+		if(valueMask != null){
+			values = ValueUtil.filterByIndices(values, valueMask);
+		} // End if
+
+		if(ValueUtil.isSparse(values, LibSVMUtil.DEFAULT_VALUE, 0.75d)){
+			return new VectorInstance(id, PMMLUtil.createRealSparseArray(values, LibSVMUtil.DEFAULT_VALUE), null);
+		} else
+
+		{
+			return new VectorInstance(id, null, PMMLUtil.createRealArray(values));
+		}
+	}
+
+	static
+	private double[] getValues(VectorInstance vectorInstance){
+		RealSparseArray sparseArray = vectorInstance.getRealSparseArray();
+
+		if(sparseArray != null){
+			double[] result = new double[sparseArray.getN()];
+
+			Arrays.fill(result, (sparseArray.getDefaultValue()).doubleValue());
+
+			List<Integer> indices = sparseArray.getIndices();
+			List<? extends Number> entries = sparseArray.getEntries();
+
+			for(int i = 0; i < indices.size(); i++){
+				// PMML sparse array indices are 1-based
+				result[indices.get(i) - 1] = (entries.get(i)).doubleValue();
+			}
+
+			return result;
+		}
+
+		Array array = vectorInstance.requireArray();
+
+		List<?> values = (List<?>)array.getValue();
+
+		double[] result = new double[values.size()];
+
+		for(int i = 0; i < values.size(); i++){
+			result[i] = (ValueUtil.asNumber(values.get(i))).doubleValue();
+		}
+
+		return result;
+	}
+
+	static
+	private class VectorKey {
+
+		private double[] values = null;
+
+		private int hashCode = 0;
+
+
+		private VectorKey(double[] values){
+			this.values = values;
+			this.hashCode = Arrays.hashCode(values);
+		}
+
+		@Override
+		public boolean equals(Object object){
+
+			if(object instanceof VectorKey){
+				VectorKey that = (VectorKey)object;
+
+				return (this.hashCode == that.hashCode) && Arrays.equals(this.values, that.values);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode(){
+			return this.hashCode;
+		}
+	}
+
+	static
+	private class FeatureMaskTask extends RecursiveTask<BitSet> {
+
+		private Matrix<? extends Number> sv = null;
+
+		private int begin = 0;
+
+		private int end = 0;
+
+
+		private FeatureMaskTask(Matrix<? extends Number> sv, int begin, int end){
+			this.sv = sv;
+			this.begin = begin;
+			this.end = end;
+		}
+
+		@Override
+		protected BitSet compute(){
+			int begin = this.begin;
+			int end = this.end;
+
+			if((end - begin) <= LibSVMUtil.BATCH_SIZE){
+				return createFeatureMask(this.sv, begin, end);
+			}
+
+			int middle = (begin + end) >>> 1;
+
+			FeatureMaskTask leftTask = new FeatureMaskTask(this.sv, begin, middle);
+			leftTask.fork();
+
+			FeatureMaskTask rightTask = new FeatureMaskTask(this.sv, middle, end);
+
+			BitSet result = rightTask.compute();
+			result.or(leftTask.join());
+
+			return result;
+		}
+	}
+
+	static
+	private class VectorInstanceAction extends RecursiveAction {
+
+		private Matrix<? extends Number> sv = null;
+
+		private List<String> ids = null;
+
+		private BitSet valueMask = null;
+
+		private VectorInstance[] vectorInstances = null;
+
+		private int begin = 0;
+
+		private int end = 0;
+
+
+		private VectorInstanceAction(Matrix<? extends Number> sv, List<String> ids, BitSet valueMask, VectorInstance[] vectorInstances, int begin, int end){
+			this.sv = sv;
+			this.ids = ids;
+			this.valueMask = valueMask;
+			this.vectorInstances = vectorInstances;
+			this.begin = begin;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute(){
+			int begin = this.begin;
+			int end = this.end;
+
+			if((end - begin) <= LibSVMUtil.BATCH_SIZE){
+				// Each task writes into its own slice of the result array, which keeps the ordering of vector instances stable
+				createVectorInstances(this.sv, this.ids, this.valueMask, this.vectorInstances, begin, end);
+
+				return;
+			}
+
+			int middle = (begin + end) >>> 1;
+
+			invokeAll(
+				new VectorInstanceAction(this.sv, this.ids, this.valueMask, this.vectorInstances, begin, middle),
+				new VectorInstanceAction(this.sv, this.ids, this.valueMask, this.vectorInstances, middle, end)
+			);
+		}
+	}
+
+	private static final Double DEFAULT_VALUE = 0d;
+
+	private static final int BATCH_SIZE = 64;
 }
\ No newline at end of file
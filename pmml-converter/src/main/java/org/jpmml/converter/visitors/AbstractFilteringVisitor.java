@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.VisitorAction;
+import org.jpmml.model.visitors.AbstractVisitor;
+
+/**
+ * <p>
+ * A Visitor that is interested in a limited set of element types.
+ * </p>
+ *
+ * <p>
+ * Elements that cannot contain any instances of the declared element types are skipped together with their subtrees.
+ * Subclasses that override <code>visit</code> methods must delegate to the superclass method in order to benefit from this.
+ * </p>
+ *
+ * @see ElementTypeUtil
+ */
+abstract
+public class AbstractFilteringVisitor extends AbstractVisitor {
+
+	private Set<Class<? extends PMMLObject>> types = null;
+
+	private Map<Class<? extends PMMLObject>, Boolean> relevantClasses = new HashMap<>();
+
+
+	public AbstractFilteringVisitor(Set<Class<? extends PMMLObject>> types){
+		setTypes(types);
+	}
+
+	@Override
+	public VisitorAction visit(PMMLObject object){
+
+		if(!isRelevant(object.getClass())){
+			return VisitorAction.SKIP;
+		}
+
+		return super.visit(object);
+	}
+
+	protected boolean isRelevant(Class<? extends PMMLObject> clazz){
+		Boolean result = this.relevantClasses.get(clazz);
+
+		if(result == null){
+			result = ElementTypeUtil.canContain(clazz, getTypes());
+
+			this.relevantClasses.put(clazz, result);
+		}
+
+		return result;
+	}
+
+	public Set<Class<? extends PMMLObject>> getTypes(){
+		return this.types;
+	}
+
+	private void setTypes(Set<Class<? extends PMMLObject>> types){
+		this.types = Objects.requireNonNull(types);
+	}
+}
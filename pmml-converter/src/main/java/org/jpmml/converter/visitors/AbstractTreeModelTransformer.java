@@ -32,6 +32,7 @@ import org.dmg.pmml.Predicate;
 import org.dmg.pmml.ScoreDistribution;
 import org.dmg.pmml.SimplePredicate;
 import org.dmg.pmml.SimpleSetPredicate;
+import org.dmg.pmml.Visitable;
 import org.dmg.pmml.tree.Node;
 import org.dmg.pmml.tree.TreeModel;
 import org.jpmml.model.UnsupportedElementException;
@@ -40,6 +41,13 @@ import org.jpmml.model.visitors.AbstractVisitor;
 abstract
 public class AbstractTreeModelTransformer extends AbstractVisitor {
 
+	@Override
+	public void applyTo(Visitable visitable){
+		super.applyTo(visitable);
+
+		FieldNameCache.invalidate();
+	}
+
 	@Override
 	public void pushParent(PMMLObject object){
 		super.pushParent(object);
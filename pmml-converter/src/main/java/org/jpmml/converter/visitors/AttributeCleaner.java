@@ -18,9 +18,14 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -34,12 +39,43 @@ import org.jpmml.model.visitors.AbstractVisitor;
  * <p>
  * A Visitor that sets redundant attribute values to <code>null</code>.
  * </p>
+ *
+ * <p>
+ * Optional attributes are accessed via method handles, which are looked up once per class.
+ * </p>
  */
 public class AttributeCleaner extends AbstractVisitor {
 
 	@Override
 	public VisitorAction visit(PMMLObject object){
-		Map<Field, Method> getterMethods = ReflectionUtil.getGetterMethods(object.getClass());
+		List<AttributeHandle> attributeHandles = AttributeCleaner.classAttributeHandles.get(object.getClass());
+
+		for(int i = 0, max = attributeHandles.size(); i < max; i++){
+			AttributeHandle attributeHandle = attributeHandles.get(i);
+
+			Object fieldValue = attributeHandle.getFieldValue(object);
+			if(fieldValue != null){
+				Object getterMethodValue = attributeHandle.getGetterMethodValue(object);
+
+				if(Objects.equals(fieldValue, getterMethodValue)){
+					attributeHandle.setFieldValue(object, null);
+
+					Object defaultGetterMethodValue = attributeHandle.getGetterMethodValue(object);
+					if(defaultGetterMethodValue == null || !Objects.equals(fieldValue, defaultGetterMethodValue)){
+						attributeHandle.setFieldValue(object, fieldValue);
+					}
+				}
+			}
+		}
+
+		return super.visit(object);
+	}
+
+	static
+	private List<AttributeHandle> loadAttributeHandles(Class<?> clazz){
+		List<AttributeHandle> result = new ArrayList<>();
+
+		Map<Field, Method> getterMethods = ReflectionUtil.getGetterMethods(clazz);
 
 		Collection<Map.Entry<Field, Method>> entries = getterMethods.entrySet();
 		for(Map.Entry<Field, Method> entry : entries){
@@ -51,21 +87,88 @@ public class AttributeCleaner extends AbstractVisitor {
 				continue;
 			}
 
-			Object fieldValue = ReflectionUtil.getFieldValue(field, object);
-			if(fieldValue != null){
-				Object getterMethodValue = ReflectionUtil.getGetterMethodValue(getterMethod, object);
+			result.add(new AttributeHandle(field, getterMethod));
+		}
 
-				if(Objects.equals(fieldValue, getterMethodValue)){
-					ReflectionUtil.setFieldValue(field, object, null);
+		return result;
+	}
 
-					Object defaultGetterMethodValue = ReflectionUtil.getGetterMethodValue(getterMethod, object);
-					if(defaultGetterMethodValue == null || !Objects.equals(fieldValue, defaultGetterMethodValue)){
-						ReflectionUtil.setFieldValue(field, object, fieldValue);
-					}
+	static
+	private class AttributeHandle {
+
+		private MethodHandle fieldGetter = null;
+
+		private MethodHandle fieldSetter = null;
+
+		private MethodHandle getterMethod = null;
+
+
+		private AttributeHandle(Field field, Method getterMethod){
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+			MethodType getterType = MethodType.methodType(Object.class, PMMLObject.class);
+			MethodType setterType = MethodType.methodType(void.class, PMMLObject.class, Object.class);
+
+			try {
+				if(!field.trySetAccessible()){
+					throw new IllegalAccessException(String.valueOf(field));
 				}
+
+				this.fieldGetter = (lookup.unreflectGetter(field)).asType(getterType);
+				this.fieldSetter = (lookup.unreflectSetter(field)).asType(setterType);
+				this.getterMethod = (lookup.unreflect(getterMethod)).asType(getterType);
+			} catch(IllegalAccessException iae){
+				throw new RuntimeException(iae);
 			}
 		}
 
-		return super.visit(object);
+		public Object getFieldValue(PMMLObject object){
+
+			try {
+				return (Object)this.fieldGetter.invokeExact(object);
+			} catch(Throwable t){
+				throw propagate(t);
+			}
+		}
+
+		public void setFieldValue(PMMLObject object, Object value){
+
+			try {
+				this.fieldSetter.invokeExact(object, value);
+			} catch(Throwable t){
+				throw propagate(t);
+			}
+		}
+
+		public Object getGetterMethodValue(PMMLObject object){
+
+			try {
+				return (Object)this.getterMethod.invokeExact(object);
+			} catch(Throwable t){
+				throw propagate(t);
+			}
+		}
+
+		static
+		private RuntimeException propagate(Throwable t){
+
+			if(t instanceof RuntimeException){
+				return (RuntimeException)t;
+			} else
+
+			if(t instanceof Error){
+				throw (Error)t;
+			}
+
+			return new RuntimeException(t);
+		}
 	}
-}
\ No newline at end of file
+
+	private static final ClassValue<List<AttributeHandle>> classAttributeHandles = new ClassValue<List<AttributeHandle>>(){
+
+		@Override
+		protected List<AttributeHandle> computeValue(Class<?> clazz){
+			return loadAttributeHandles(clazz);
+		}
+	};
+}
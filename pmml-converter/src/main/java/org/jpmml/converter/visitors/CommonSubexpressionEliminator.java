@@ -0,0 +1,755 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.dmg.pmml.Apply;
+import org.dmg.pmml.Constant;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.Field;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.HasDerivedFields;
+import org.dmg.pmml.InvalidValueTreatmentMethod;
+import org.dmg.pmml.LocalTransformations;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.OutlierTreatmentMethod;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.TransformationDictionary;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.VisitorAction;
+import org.jpmml.converter.DerivedOutputField;
+import org.jpmml.converter.ExpressionUtil;
+import org.jpmml.converter.FieldNameUtil;
+import org.jpmml.converter.TypeUtil;
+import org.jpmml.model.PMMLObjectKey;
+import org.jpmml.model.visitors.AbstractVisitor;
+import org.jpmml.model.visitors.ActiveFieldFinder;
+
+/**
+ * <p>
+ * A Visitor that eliminates repeated Apply subtrees from the expressions of {@link DerivedField derived fields}.
+ * </p>
+ *
+ * <p>
+ * Each repeated subtree is hoisted into a single DerivedField,
+ * which is declared in the transformation dictionary or local transformations of the nearest common ancestor model of all occurrences.
+ * All occurrences are then replaced with {@link FieldRef field references}.
+ * If one occurrence is already the complete expression of a DerivedField in that scope, then that DerivedField is reused instead.
+ * </p>
+ *
+ * <p>
+ * If the DerivedField is declared in the local transformations of an ancestor model,
+ * then it is also declared as a {@link MiningField mining field} in the mining schemas of all nested models that reference it,
+ * so that the rewritten document remains valid without running {@link MiningSchemaCleaner} afterwards.
+ * </p>
+ *
+ * <p>
+ * Subtrees are eligible for hoisting only if all the fields that they reference can be resolved unambiguously,
+ * and if the data type of their result can be determined, so that the hoisted DerivedField does not perform any type conversions.
+ * Subtrees are not hoisted past models whose mining schema transforms the values of referenced fields (eg. missing value replacement or outlier treatment),
+ * and groups that consist of complete DerivedField expressions only are left as they are.
+ * </p>
+ */
+public class CommonSubexpressionEliminator extends AbstractVisitor {
+
+	private PMML pmml = null;
+
+	private Map<String, Field<?>> fields = new HashMap<>();
+
+	private Map<Field<?>, Model> fieldScopes = new IdentityHashMap<>();
+
+	private Map<Model, Model> parentModels = new IdentityHashMap<>();
+
+	private Map<HasDerivedFields<?>, Model> containers = new LinkedHashMap<>();
+
+
+	@Override
+	public void applyTo(Visitable visitable){
+
+		while(true){
+			reset();
+
+			super.applyTo(visitable);
+
+			if(!eliminate()){
+				break;
+			}
+		}
+
+		reset();
+
+		FieldNameCache.invalidate();
+	}
+
+	private void reset(){
+		this.pmml = null;
+
+		this.fields.clear();
+		this.fieldScopes.clear();
+		this.parentModels.clear();
+		this.containers.clear();
+	}
+
+	@Override
+	public VisitorAction visit(PMMLObject object){
+
+		if(object instanceof Field){
+			Field<?> field = (Field<?>)object;
+
+			String name = field.requireName();
+
+			// Field names that are declared more than once cannot be resolved without scoping information
+			if(this.fields.containsKey(name)){
+				this.fields.put(name, null);
+			} else
+
+			{
+				this.fields.put(name, field);
+			}
+
+			PMMLObject parent = getParent();
+
+			if((field instanceof DataField) || (parent instanceof TransformationDictionary)){
+				this.fieldScopes.put(field, null);
+			} else
+
+			if(parent instanceof LocalTransformations){
+				this.fieldScopes.put(field, getModel());
+			}
+		}
+
+		return super.visit(object);
+	}
+
+	@Override
+	public VisitorAction visit(PMML pmml){
+		this.pmml = pmml;
+
+		return super.visit(pmml);
+	}
+
+	@Override
+	public VisitorAction visit(Model model){
+		this.parentModels.put(model, getModel());
+
+		return super.visit(model);
+	}
+
+	@Override
+	public VisitorAction visit(LocalTransformations localTransformations){
+		this.containers.put(localTransformations, getModel());
+
+		return super.visit(localTransformations);
+	}
+
+	@Override
+	public VisitorAction visit(TransformationDictionary transformationDictionary){
+		this.containers.put(transformationDictionary, null);
+
+		return super.visit(transformationDictionary);
+	}
+
+	/**
+	 * @return <code>true</code> if the document was modified, <code>false</code> otherwise.
+	 */
+	private boolean eliminate(){
+		Map<PMMLObjectKey, List<Occurrence>> occurrences = new LinkedHashMap<>();
+
+		Collection<Map.Entry<HasDerivedFields<?>, Model>> entries = this.containers.entrySet();
+		for(Map.Entry<HasDerivedFields<?>, Model> entry : entries){
+			HasDerivedFields<?> container = entry.getKey();
+			Model scope = entry.getValue();
+
+			if(!container.hasDerivedFields()){
+				continue;
+			}
+
+			List<DerivedField> derivedFields = container.getDerivedFields();
+			for(DerivedField derivedField : derivedFields){
+
+				if(derivedField instanceof DerivedOutputField){
+					continue;
+				}
+
+				Expression expression = derivedField.getExpression();
+				if(expression instanceof Apply){
+					collectOccurrences((Apply)expression, derivedField, derivedField, container, scope, occurrences);
+				}
+			}
+		}
+
+		List<List<Occurrence>> groups = new ArrayList<>();
+
+		for(List<Occurrence> group : occurrences.values()){
+
+			if(group.size() > 1){
+				groups.add(group);
+			}
+		}
+
+		// Largest subtrees first, so that nested repetitions are eliminated together with their enclosing subtree
+		groups.sort(Comparator.comparingInt((List<Occurrence> group) -> group.get(0).size).reversed());
+
+		Set<Apply> replacedApplies = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		boolean result = false;
+
+		for(List<Occurrence> group : groups){
+			List<Occurrence> liveOccurrences = new ArrayList<>();
+
+			for(Occurrence occurrence : group){
+
+				if(!replacedApplies.contains(occurrence.apply)){
+					liveOccurrences.add(occurrence);
+				}
+			}
+
+			if(liveOccurrences.size() < 2){
+				continue;
+			} // End if
+
+			if(hoist(liveOccurrences)){
+
+				for(Occurrence liveOccurrence : liveOccurrences){
+					collectApplies(liveOccurrence.apply, replacedApplies);
+				}
+
+				result = true;
+			}
+		}
+
+		return result;
+	}
+
+	private boolean hoist(List<Occurrence> occurrences){
+		boolean shared = false;
+
+		for(Occurrence occurrence : occurrences){
+
+			if(!(occurrence.parent instanceof DerivedField)){
+				shared = true;
+
+				break;
+			}
+		}
+
+		// Hoisting complete DerivedField expressions would only introduce aliases
+		if(!shared){
+			return false;
+		}
+
+		Occurrence firstOccurrence = occurrences.get(0);
+
+		Apply apply = firstOccurrence.apply;
+
+		DataType dataType = getDataType(apply);
+		if(dataType == null){
+			return false;
+		}
+
+		Model scope = firstOccurrence.scope;
+
+		for(int i = 1; i < occurrences.size(); i++){
+			Occurrence occurrence = occurrences.get(i);
+
+			scope = getCommonScope(scope, occurrence.scope);
+		}
+
+		// Field name lookups are not cached, because the document is being modified
+		Set<String> names = ActiveFieldFinder.getFieldNames(apply);
+		for(String name : names){
+			Field<?> field = this.fields.get(name);
+
+			if(field == null || !this.fieldScopes.containsKey(field)){
+				return false;
+			} // End if
+
+			if(!isVisible(this.fieldScopes.get(field), scope)){
+				return false;
+			}
+		}
+
+		for(Occurrence occurrence : occurrences){
+
+			if(hasValueTreatment(names, occurrence.scope, scope)){
+				return false;
+			}
+		}
+
+		HasDerivedFields<?> container = ensureContainer(scope);
+		if(container == null){
+			return false;
+		}
+
+		List<DerivedField> derivedFields = container.getDerivedFields();
+
+		// The index of the first use in the target scope
+		int index = derivedFields.size();
+
+		for(Occurrence occurrence : occurrences){
+
+			if(occurrence.container == container){
+				index = Math.min(index, derivedFields.indexOf(occurrence.derivedField));
+			}
+		}
+
+		DerivedField derivedField = null;
+
+		for(Occurrence occurrence : occurrences){
+
+			if(occurrence.parent == occurrence.derivedField && occurrence.container == container && (dataType).equals(occurrence.derivedField.getDataType())){
+
+				if(derivedFields.indexOf(occurrence.derivedField) == index){
+					derivedField = occurrence.derivedField;
+				}
+
+				break;
+			}
+		}
+
+		if(derivedField == null){
+			String name = createName();
+
+			derivedField = new DerivedField(name, TypeUtil.getOpType(dataType), dataType, null);
+
+			// Declare before the first use, so that the order of declarations remains valid
+			derivedFields.add(index, derivedField);
+
+			this.fields.put(name, derivedField);
+			this.fieldScopes.put(derivedField, scope);
+		}
+
+		for(Occurrence occurrence : occurrences){
+
+			if(occurrence.parent == derivedField){
+				continue;
+			}
+
+			replace(occurrence, new FieldRef(derivedField));
+
+			if(scope != null){
+				declareMiningFields(derivedField, occurrence.scope, scope);
+			}
+		}
+
+		if(derivedField.getExpression() == null){
+			derivedField.setExpression(apply);
+		}
+
+		return true;
+	}
+
+	private Model getModel(){
+
+		for(PMMLObject parent : getParents()){
+
+			if(parent instanceof Model){
+				return (Model)parent;
+			}
+		}
+
+		return null;
+	}
+
+	private Model getCommonScope(Model left, Model right){
+
+		for(Model scope = left; scope != null; scope = this.parentModels.get(scope)){
+
+			if(isVisible(scope, right)){
+				return scope;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return <code>true</code> if fields that are declared in the first scope are visible in the second scope.
+	 */
+	private boolean isVisible(Model fieldScope, Model scope){
+
+		for(; scope != null; scope = this.parentModels.get(scope)){
+
+			if(scope == fieldScope){
+				return true;
+			}
+		}
+
+		return (fieldScope == null);
+	}
+
+	/**
+	 * @return <code>true</code> if some model between the model where the fields are referenced and the model where the subtree would be declared
+	 * transforms the values of those fields in its mining schema.
+	 */
+	private boolean hasValueTreatment(Set<String> names, Model model, Model scope){
+
+		for(; model != null && model != scope; model = this.parentModels.get(model)){
+			MiningSchema miningSchema = model.getMiningSchema();
+
+			if(miningSchema == null || !miningSchema.hasMiningFields()){
+				continue;
+			}
+
+			List<MiningField> miningFields = miningSchema.getMiningFields();
+			for(MiningField miningField : miningFields){
+
+				if(!names.contains(miningField.getName())){
+					continue;
+				} // End if
+
+				if(hasValueTreatment(miningField)){
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Declares a local DerivedField in the mining schemas of all models between the model where it is referenced and the model where it is declared.
+	 * </p>
+	 *
+	 * <p>
+	 * Global derived fields are not declared, because mining schemas list their dependencies instead.
+	 * </p>
+	 */
+	private void declareMiningFields(DerivedField derivedField, Model model, Model scope){
+		String name = derivedField.requireName();
+
+		for(; model != null && model != scope; model = this.parentModels.get(model)){
+			MiningSchema miningSchema = model.getMiningSchema();
+
+			if(miningSchema == null){
+				miningSchema = new MiningSchema();
+
+				model.setMiningSchema(miningSchema);
+			} // End if
+
+			if(!hasMiningField(miningSchema, name)){
+				miningSchema.addMiningFields(new MiningField(derivedField));
+			}
+		}
+	}
+
+	private HasDerivedFields<?> ensureContainer(Model scope){
+
+		if(scope != null){
+			LocalTransformations localTransformations = scope.getLocalTransformations();
+
+			if(localTransformations == null){
+				localTransformations = new LocalTransformations();
+
+				scope.setLocalTransformations(localTransformations);
+			}
+
+			return localTransformations;
+		} else
+
+		{
+			PMML pmml = this.pmml;
+
+			if(pmml == null){
+				return null;
+			}
+
+			TransformationDictionary transformationDictionary = pmml.getTransformationDictionary();
+
+			if(transformationDictionary == null){
+				transformationDictionary = new TransformationDictionary();
+
+				pmml.setTransformationDictionary(transformationDictionary);
+			}
+
+			return transformationDictionary;
+		}
+	}
+
+	private String createName(){
+		Map<String, Field<?>> fields = this.fields;
+
+		for(int i = 1; true; i++){
+			String name = FieldNameUtil.create("cse", i);
+
+			if(!fields.containsKey(name)){
+				return name;
+			}
+		}
+	}
+
+	private DataType getDataType(Expression expression){
+
+		if(expression instanceof Constant){
+			Constant constant = (Constant)expression;
+
+			return constant.getDataType();
+		} else
+
+		if(expression instanceof FieldRef){
+			FieldRef fieldRef = (FieldRef)expression;
+
+			if(fieldRef.getMapMissingTo() != null){
+				return null;
+			}
+
+			Field<?> field = this.fields.get(fieldRef.requireField());
+			if(field != null){
+				return field.getDataType();
+			}
+
+			return null;
+		} else
+
+		if(expression instanceof Apply){
+			Apply apply = (Apply)expression;
+
+			if(apply.getMapMissingTo() != null || apply.getDefaultValue() != null){
+				return null;
+			}
+
+			String function = apply.requireFunction();
+			List<Expression> expressions = apply.getExpressions();
+
+			switch(function){
+				case PMMLFunctions.ADD:
+				case PMMLFunctions.SUBTRACT:
+				case PMMLFunctions.MULTIPLY:
+				case PMMLFunctions.DIVIDE:
+					{
+						DataType result = getNumericDataType(expressions);
+
+						// The division of integers is not closed over integers
+						if(result == DataType.INTEGER && (PMMLFunctions.DIVIDE).equals(function)){
+							return null;
+						}
+
+						return result;
+					}
+				case PMMLFunctions.ABS:
+					if(expressions.size() == 1){
+						return getNumericDataType(expressions);
+					}
+					return null;
+				case PMMLFunctions.EXP:
+				case PMMLFunctions.LN:
+				case PMMLFunctions.LOG10:
+				case PMMLFunctions.SQRT:
+					if(expressions.size() == 1){
+						DataType result = getNumericDataType(expressions);
+
+						if(result == null){
+							return null;
+						}
+
+						// Mathematical functions return a double, irrespective of the data type of the argument
+						return DataType.DOUBLE;
+					}
+					return null;
+				case PMMLFunctions.IF:
+					if(expressions.size() == 3){
+						DataType trueDataType = getDataType(expressions.get(1));
+						DataType falseDataType = getDataType(expressions.get(2));
+
+						return (trueDataType == falseDataType ? trueDataType : null);
+					}
+					return null;
+				default:
+					return ExpressionUtil.getDataType(apply, null);
+			}
+		}
+
+		return null;
+	}
+
+	private DataType getNumericDataType(List<Expression> expressions){
+		DataType result = null;
+
+		if(expressions.isEmpty()){
+			return null;
+		}
+
+		for(Expression expression : expressions){
+			DataType dataType = getDataType(expression);
+
+			if(dataType == null){
+				return null;
+			}
+
+			switch(dataType){
+				case INTEGER:
+					if(result == null){
+						result = dataType;
+					}
+					break;
+				case FLOAT:
+					if(result == null || result == DataType.INTEGER){
+						result = dataType;
+					}
+					break;
+				case DOUBLE:
+					result = dataType;
+					break;
+				default:
+					return null;
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private boolean hasValueTreatment(MiningField miningField){
+		return (miningField.getMissingValueReplacement() != null) || (miningField.getInvalidValueReplacement() != null)
+			|| (miningField.getOutlierTreatment() != OutlierTreatmentMethod.AS_IS) || (miningField.getLowValue() != null) || (miningField.getHighValue() != null)
+			|| (miningField.getInvalidValueTreatment() != InvalidValueTreatmentMethod.RETURN_INVALID);
+	}
+
+	static
+	private boolean hasMiningField(MiningSchema miningSchema, String name){
+
+		if(miningSchema.hasMiningFields()){
+			List<MiningField> miningFields = miningSchema.getMiningFields();
+
+			for(MiningField miningField : miningFields){
+
+				if((name).equals(miningField.getName())){
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	static
+	private int collectOccurrences(Apply apply, PMMLObject parent, DerivedField derivedField, HasDerivedFields<?> container, Model scope, Map<PMMLObjectKey, List<Occurrence>> occurrences){
+		int size = 1;
+
+		if(apply.hasExpressions()){
+			List<Expression> expressions = apply.getExpressions();
+
+			for(Expression expression : expressions){
+
+				if(expression instanceof Apply){
+					size += collectOccurrences((Apply)expression, apply, derivedField, container, scope, occurrences);
+				} else
+
+				{
+					size += 1;
+				}
+			}
+		}
+
+		List<Occurrence> group = occurrences.computeIfAbsent(new PMMLObjectKey(apply), key -> new ArrayList<>());
+
+		group.add(new Occurrence(apply, parent, derivedField, container, scope, size));
+
+		return size;
+	}
+
+	static
+	private void collectApplies(Apply apply, Set<Apply> applies){
+		applies.add(apply);
+
+		if(apply.hasExpressions()){
+			List<Expression> expressions = apply.getExpressions();
+
+			for(Expression expression : expressions){
+
+				if(expression instanceof Apply){
+					collectApplies((Apply)expression, applies);
+				}
+			}
+		}
+	}
+
+	static
+	private void replace(Occurrence occurrence, Expression expression){
+		PMMLObject parent = occurrence.parent;
+
+		if(parent instanceof DerivedField){
+			DerivedField derivedField = (DerivedField)parent;
+
+			derivedField.setExpression(expression);
+		} else
+
+		if(parent instanceof Apply){
+			Apply apply = (Apply)parent;
+
+			for(ListIterator<Expression> expressionIt = apply.getExpressions().listIterator(); expressionIt.hasNext(); ){
+
+				if(expressionIt.next() == occurrence.apply){
+					expressionIt.set(expression);
+
+					break;
+				}
+			}
+		} else
+
+		{
+			throw new IllegalArgumentException();
+		}
+	}
+
+	static
+	private class Occurrence {
+
+		private Apply apply = null;
+
+		private PMMLObject parent = null;
+
+		private DerivedField derivedField = null;
+
+		private HasDerivedFields<?> container = null;
+
+		private Model scope = null;
+
+		private int size = 0;
+
+
+		private Occurrence(Apply apply, PMMLObject parent, DerivedField derivedField, HasDerivedFields<?> container, Model scope, int size){
+			this.apply = apply;
+			this.parent = parent;
+			this.derivedField = derivedField;
+			this.container = container;
+			this.scope = scope;
+			this.size = size;
+		}
+	}
+}
@@ -48,16 +48,34 @@ public class DeepFieldResolverUtil {
 
 		Segmentation segmentation = miningModel.requireSegmentation();
 
+		Segmentation.MultipleModelMethod multipleModelMethod = segmentation.requireMultipleModelMethod();
+
+		// The scope of the segmentation is indexed once, and shared between all segments
+		FieldScope segmentScope = new FieldScope(resolver.getFields(miningModel));
+
 		List<Segment> segments = segmentation.requireSegments();
 		for(Segment segment : segments){
 			Predicate predicate = segment.requirePredicate();
 
-			Set<String> names = ActiveFieldFinder.getFieldNames(predicate);
+			Set<String> names = FieldNameCache.getFieldNames(predicate);
 
 			if(!names.isEmpty()){
-				Collection<Field<?>> segmentFields = resolver.getFields(miningModel, segmentation, segment);
+				activeFields.addAll(segmentScope.selectAll(names));
+			}
 
-				activeFields.addAll(FieldUtil.selectAll(segmentFields, names));
+			switch(multipleModelMethod){
+				case MODEL_CHAIN:
+				case MULTI_MODEL_CHAIN:
+					Model segmentModel = segment.requireModel();
+
+					// Later segments can see the output fields of earlier segments
+					Output segmentOutput = segmentModel.getOutput();
+					if(segmentOutput != null && segmentOutput.hasOutputFields()){
+						segmentScope = new FieldScope(segmentScope, segmentOutput.getOutputFields());
+					}
+					break;
+				default:
+					break;
 			}
 		}
 
@@ -72,7 +90,6 @@ public class DeepFieldResolverUtil {
 			activeFields.removeAll(output.getOutputFields());
 		}
 
-		Segmentation.MultipleModelMethod multipleModelMethod = segmentation.requireMultipleModelMethod();
 		switch(multipleModelMethod){
 			case MODEL_CHAIN:
 			case MULTI_MODEL_CHAIN:
@@ -92,6 +109,20 @@ public class DeepFieldResolverUtil {
 	public Set<Field<?>> getActiveFields(FieldResolver resolver, Model model){
 		Collection<Field<?>> modelFields = getModelFields(resolver, model);
 
+		return getActiveFields(modelFields, model);
+	}
+
+	/**
+	 * <p>
+	 * Collects active fields without consulting the state of a field resolver.
+	 * </p>
+	 *
+	 * @param modelFields The fields that are visible in the scope of the model.
+	 *
+	 * @see #getModelFields(FieldResolver, Model)
+	 */
+	static
+	public Set<Field<?>> getActiveFields(Collection<Field<?>> modelFields, Model model){
 		Set<Field<?>> activeFields = new LinkedHashSet<>();
 
 		ActiveFieldFinder activeFieldFinder = new ActiveFieldFinder(){
@@ -115,7 +146,7 @@ public class DeepFieldResolverUtil {
 	}
 
 	static
-	private Collection<Field<?>> getModelFields(FieldResolver resolver, Model model){
+	public Collection<Field<?>> getModelFields(FieldResolver resolver, Model model){
 		Output output = model.getOutput();
 
 		if(output != null && output.hasOutputFields()){
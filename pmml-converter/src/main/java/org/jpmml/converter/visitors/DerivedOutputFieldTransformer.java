@@ -18,6 +18,8 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -30,9 +32,12 @@ import org.dmg.pmml.Model;
 import org.dmg.pmml.TransformationDictionary;
 import org.dmg.pmml.VisitorAction;
 import org.jpmml.converter.DerivedOutputField;
-import org.jpmml.model.visitors.AbstractVisitor;
 
-public class DerivedOutputFieldTransformer extends AbstractVisitor {
+public class DerivedOutputFieldTransformer extends AbstractFilteringVisitor {
+
+	public DerivedOutputFieldTransformer(){
+		super(new HashSet<>(Arrays.asList(LocalTransformations.class, TransformationDictionary.class)));
+	}
 
 	@Override
 	public VisitorAction visit(LocalTransformations localTransformations){
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementRef;
+import jakarta.xml.bind.annotation.XmlElementRefs;
+import jakarta.xml.bind.annotation.XmlElements;
+import org.dmg.pmml.PMMLObject;
+import org.jpmml.model.ReflectionUtil;
+
+/**
+ * <p>
+ * Static reachability analysis between PMML element classes.
+ * </p>
+ *
+ * <p>
+ * The analysis follows the JAXB element mappings of instance fields.
+ * Mixed content (eg. the content of <code>Extension</code> elements) is not followed.
+ * </p>
+ */
+public class ElementTypeUtil {
+
+	private ElementTypeUtil(){
+	}
+
+	/**
+	 * <p>
+	 * Checks if an instance of the specified class, or any of its descendant elements, could be an instance of the specified types.
+	 * </p>
+	 */
+	static
+	public boolean canContain(Class<? extends PMMLObject> clazz, Collection<? extends Class<? extends PMMLObject>> types){
+		Set<Class<? extends PMMLObject>> containedClasses = getContainedClasses(clazz);
+
+		// Unknown element mappings
+		if(containedClasses == null){
+			return true;
+		}
+
+		for(Class<? extends PMMLObject> containedClass : containedClasses){
+
+			for(Class<? extends PMMLObject> type : types){
+
+				if(type.isAssignableFrom(containedClass)){
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return The set of element classes that are reachable from the specified class (including the class itself),
+	 * or <code>null</code> if it could not be determined.
+	 */
+	static
+	public Set<Class<? extends PMMLObject>> getContainedClasses(Class<? extends PMMLObject> clazz){
+		return ElementTypeUtil.containedClasses.get(clazz);
+	}
+
+	static
+	private Set<Class<? extends PMMLObject>> loadContainedClasses(Class<? extends PMMLObject> clazz){
+		Set<Class<? extends PMMLObject>> result = new LinkedHashSet<>();
+		result.add(clazz);
+
+		Deque<Class<? extends PMMLObject>> queue = new ArrayDeque<>();
+		queue.add(clazz);
+
+		while(!queue.isEmpty()){
+			Class<? extends PMMLObject> elementClass = queue.removeFirst();
+
+			Set<Class<? extends PMMLObject>> childClasses = getChildClasses(elementClass);
+			if(childClasses == null){
+				return null;
+			}
+
+			for(Class<? extends PMMLObject> childClass : childClasses){
+
+				if(result.add(childClass)){
+					queue.addLast(childClass);
+				}
+			}
+		}
+
+		return Collections.unmodifiableSet(result);
+	}
+
+	static
+	private Set<Class<? extends PMMLObject>> getChildClasses(Class<? extends PMMLObject> clazz){
+		return ElementTypeUtil.childClasses.get(clazz);
+	}
+
+	static
+	private Set<Class<? extends PMMLObject>> loadChildClasses(Class<? extends PMMLObject> clazz){
+		Set<Class<? extends PMMLObject>> result = new LinkedHashSet<>();
+
+		List<Field> fields = ReflectionUtil.getFields(clazz);
+		for(Field field : fields){
+
+			if(Modifier.isStatic(field.getModifiers())){
+				continue;
+			}
+
+			XmlElements elements = field.getAnnotation(XmlElements.class);
+			XmlElement element = field.getAnnotation(XmlElement.class);
+			XmlElementRefs elementRefs = field.getAnnotation(XmlElementRefs.class);
+			XmlElementRef elementRef = field.getAnnotation(XmlElementRef.class);
+
+			if(elements != null){
+
+				for(XmlElement value : elements.value()){
+
+					if(!addChildClass(result, field, value.type() != XmlElement.DEFAULT.class ? value.type() : null)){
+						return null;
+					}
+				}
+			} else
+
+			if(element != null){
+
+				if(!addChildClass(result, field, element.type() != XmlElement.DEFAULT.class ? element.type() : null)){
+					return null;
+				}
+			} else
+
+			if(elementRefs != null){
+
+				for(XmlElementRef value : elementRefs.value()){
+
+					if(!addChildClass(result, field, value.type() != XmlElementRef.DEFAULT.class ? value.type() : null)){
+						return null;
+					}
+				}
+			} else
+
+			if(elementRef != null){
+
+				if(!addChildClass(result, field, elementRef.type() != XmlElementRef.DEFAULT.class ? elementRef.type() : null)){
+					return null;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private boolean addChildClass(Set<Class<? extends PMMLObject>> childClasses, Field field, Class<?> type){
+
+		if(type == null){
+			type = getElementType(field);
+
+			if(type == null){
+				return false;
+			}
+		} // End if
+
+		if(PMMLObject.class.isAssignableFrom(type)){
+
+			// Abstract types could be instantiated as any subclass
+			if(type.isInterface() || Modifier.isAbstract(type.getModifiers())){
+				return false;
+			}
+
+			childClasses.add(type.asSubclass(PMMLObject.class));
+		} else
+
+		if(type.isInterface() || Object.class.equals(type)){
+			return false;
+		}
+
+		// Simple content such as String values
+		return true;
+	}
+
+	static
+	private Class<?> getElementType(Field field){
+		Class<?> type = field.getType();
+
+		if(Collection.class.isAssignableFrom(type)){
+			Type genericType = field.getGenericType();
+
+			if(genericType instanceof ParameterizedType){
+				ParameterizedType parameterizedType = (ParameterizedType)genericType;
+
+				Type[] typeArguments = parameterizedType.getActualTypeArguments();
+				if(typeArguments.length == 1 && typeArguments[0] instanceof Class){
+					return (Class<?>)typeArguments[0];
+				}
+			}
+
+			return null;
+		}
+
+		return type;
+	}
+
+	private static final ClassValue<Set<Class<? extends PMMLObject>>> childClasses = new ClassValue<Set<Class<? extends PMMLObject>>>(){
+
+		@Override
+		protected Set<Class<? extends PMMLObject>> computeValue(Class<?> clazz){
+			return loadChildClasses(clazz.asSubclass(PMMLObject.class));
+		}
+	};
+
+	private static final ClassValue<Set<Class<? extends PMMLObject>>> containedClasses = new ClassValue<Set<Class<? extends PMMLObject>>>(){
+
+		@Override
+		protected Set<Class<? extends PMMLObject>> computeValue(Class<?> clazz){
+			return loadContainedClasses(clazz.asSubclass(PMMLObject.class));
+		}
+	};
+}
@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
 
@@ -25,11 +26,22 @@ import org.dmg.pmml.Apply;
 import org.dmg.pmml.Constant;
 import org.dmg.pmml.Expression;
 import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.Visitable;
 import org.dmg.pmml.VisitorAction;
 import org.jpmml.model.InvalidElementException;
-import org.jpmml.model.visitors.AbstractVisitor;
 
-public class ExpressionCompactor extends AbstractVisitor {
+public class ExpressionCompactor extends AbstractFilteringVisitor {
+
+	public ExpressionCompactor(){
+		super(Collections.singleton(Apply.class));
+	}
+
+	@Override
+	public void applyTo(Visitable visitable){
+		super.applyTo(visitable);
+
+		FieldNameCache.invalidate();
+	}
 
 	@Override
 	public VisitorAction visit(Apply apply){
@@ -0,0 +1,644 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import org.dmg.pmml.Apply;
+import org.dmg.pmml.Constant;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.Field;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.HasExpression;
+import org.dmg.pmml.InvalidValueTreatmentMethod;
+import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.VisitorAction;
+import org.jpmml.converter.ExpressionUtil;
+import org.jpmml.converter.ValueUtil;
+import org.jpmml.model.visitors.AbstractVisitor;
+
+/**
+ * <p>
+ * A Visitor that folds constant sub-expressions, and simplifies arithmetic identities.
+ * </p>
+ *
+ * <p>
+ * Expressions are rewritten bottom-up, so that the result of one rewrite can enable another.
+ * References to DerivedFields that evaluate to a constant are replaced with that constant.
+ * </p>
+ *
+ * <p>
+ * Constant arguments are folded the way that a PMML engine would evaluate them.
+ * Integer arithmetic is 32-bit, and is left unfolded if it overflows.
+ * All other arithmetic is computed in double precision, and the result takes the common data type of the arguments.
+ * Mathematical functions always return a double.
+ * Apply elements that customize missing or invalid value handling are left unchanged.
+ * </p>
+ */
+public class ExpressionOptimizer extends AbstractVisitor {
+
+	private Map<String, Field<?>> fields = new HashMap<>();
+
+	private Map<String, Constant> constants = new HashMap<>();
+
+
+	@Override
+	public void applyTo(Visitable visitable){
+		Map<String, Field<?>> fields = this.fields;
+
+		fields.clear();
+
+		this.constants.clear();
+
+		AbstractVisitor fieldCollector = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(PMMLObject object){
+
+				if(object instanceof Field){
+					Field<?> field = (Field<?>)object;
+
+					String name = field.requireName();
+
+					// Field names that are declared more than once cannot be resolved without scoping information
+					if(fields.containsKey(name)){
+						fields.put(name, null);
+					} else
+
+					{
+						fields.put(name, field);
+					}
+				}
+
+				return super.visit(object);
+			}
+		};
+		fieldCollector.applyTo(visitable);
+
+		super.applyTo(visitable);
+
+		FieldNameCache.invalidate();
+	}
+
+	@Override
+	public PMMLObject popParent(){
+		PMMLObject parent = super.popParent();
+
+		if(parent instanceof Apply){
+			Apply apply = (Apply)parent;
+
+			if(apply.hasExpressions()){
+				List<Expression> expressions = apply.getExpressions();
+
+				for(ListIterator<Expression> expressionIt = expressions.listIterator(); expressionIt.hasNext(); ){
+					Expression expression = expressionIt.next();
+
+					Expression optimizedExpression = optimize(expression);
+					if(optimizedExpression != expression){
+						expressionIt.set(optimizedExpression);
+					}
+				}
+			}
+		} else
+
+		if(parent instanceof HasExpression){
+			HasExpression<?> hasExpression = (HasExpression<?>)parent;
+
+			Expression expression = hasExpression.getExpression();
+			if(expression != null){
+				Expression optimizedExpression = optimize(expression);
+
+				if(optimizedExpression != expression){
+					hasExpression.setExpression(optimizedExpression);
+				}
+			} // End if
+
+			if(parent instanceof DerivedField){
+				DerivedField derivedField = (DerivedField)parent;
+
+				registerConstant(derivedField);
+			}
+		}
+
+		return parent;
+	}
+
+	private Expression optimize(Expression expression){
+
+		if(expression instanceof FieldRef){
+			FieldRef fieldRef = (FieldRef)expression;
+
+			return optimizeFieldRef(fieldRef);
+		} else
+
+		if(expression instanceof Apply){
+			Apply apply = (Apply)expression;
+
+			if(apply.getMapMissingTo() != null || apply.getDefaultValue() != null || apply.getInvalidValueTreatment() != InvalidValueTreatmentMethod.RETURN_INVALID){
+				return apply;
+			}
+
+			return optimizeApply(apply);
+		}
+
+		return expression;
+	}
+
+	private Expression optimizeFieldRef(FieldRef fieldRef){
+
+		if(fieldRef.getMapMissingTo() != null){
+			return fieldRef;
+		}
+
+		Constant constant = this.constants.get(fieldRef.requireField());
+		if(constant != null){
+			return copy(constant);
+		}
+
+		return fieldRef;
+	}
+
+	private Expression optimizeApply(Apply apply){
+		String function = apply.requireFunction();
+		List<Expression> expressions = apply.getExpressions();
+
+		switch(function){
+			case PMMLFunctions.ADD:
+			case PMMLFunctions.SUBTRACT:
+			case PMMLFunctions.MULTIPLY:
+			case PMMLFunctions.DIVIDE:
+				if(expressions.size() == 2){
+					Expression left = expressions.get(0);
+					Expression right = expressions.get(1);
+
+					Constant result = foldArithmetic(function, left, right);
+					if(result != null){
+						return result;
+					}
+
+					return simplifyArithmetic(function, apply, left, right);
+				}
+				break;
+			case PMMLFunctions.EXP:
+			case PMMLFunctions.LN:
+				if(expressions.size() == 1){
+					Constant result = foldMath(function, expressions.get(0));
+					if(result != null){
+						return result;
+					}
+				}
+				break;
+			case PMMLFunctions.IF:
+				if(expressions.size() == 2 || expressions.size() == 3){
+					Boolean condition = getBoolean(expressions.get(0));
+
+					if(condition != null){
+
+						if(condition){
+							return expressions.get(1);
+						} else
+
+						if(expressions.size() == 3){
+							return expressions.get(2);
+						}
+					}
+				}
+				break;
+			default:
+				break;
+		}
+
+		return apply;
+	}
+
+	private Constant foldArithmetic(String function, Expression left, Expression right){
+		DataType leftDataType = getNumericDataType(left);
+		DataType rightDataType = getNumericDataType(right);
+
+		if(leftDataType == null || rightDataType == null){
+			return null;
+		}
+
+		Number leftValue = getNumericValue((Constant)left, leftDataType);
+		Number rightValue = getNumericValue((Constant)right, rightDataType);
+
+		if(leftValue == null || rightValue == null){
+			return null;
+		} // End if
+
+		if(leftDataType == DataType.INTEGER && rightDataType == DataType.INTEGER){
+
+			// Integer arithmetic is checked 32-bit arithmetic
+			try {
+				int leftInt = Math.toIntExact(leftValue.longValue());
+				int rightInt = Math.toIntExact(rightValue.longValue());
+
+				switch(function){
+					case PMMLFunctions.ADD:
+						return ExpressionUtil.createConstant(ValueUtil.narrow(Math.addExact(leftInt, rightInt)));
+					case PMMLFunctions.SUBTRACT:
+						return ExpressionUtil.createConstant(ValueUtil.narrow(Math.subtractExact(leftInt, rightInt)));
+					case PMMLFunctions.MULTIPLY:
+						return ExpressionUtil.createConstant(ValueUtil.narrow(Math.multiplyExact(leftInt, rightInt)));
+					case PMMLFunctions.DIVIDE:
+						// The division of integers follows integer semantics, which is not reproduced here
+						return null;
+					default:
+						return null;
+				}
+			} catch(ArithmeticException ae){
+				return null;
+			}
+		}
+
+		double leftDouble = leftValue.doubleValue();
+		double rightDouble = rightValue.doubleValue();
+
+		double result;
+
+		switch(function){
+			case PMMLFunctions.ADD:
+				result = leftDouble + rightDouble;
+				break;
+			case PMMLFunctions.SUBTRACT:
+				result = leftDouble - rightDouble;
+				break;
+			case PMMLFunctions.MULTIPLY:
+				result = leftDouble * rightDouble;
+				break;
+			case PMMLFunctions.DIVIDE:
+				if(rightDouble == 0d){
+					return null;
+				}
+
+				result = leftDouble / rightDouble;
+				break;
+			default:
+				return null;
+		}
+
+		DataType dataType = (leftDataType == DataType.DOUBLE || rightDataType == DataType.DOUBLE) ? DataType.DOUBLE : DataType.FLOAT;
+
+		return createConstant(dataType, result);
+	}
+
+	private Constant foldMath(String function, Expression expression){
+		DataType dataType = getNumericDataType(expression);
+
+		if(dataType == null){
+			return null;
+		}
+
+		Number value = getNumericValue((Constant)expression, dataType);
+		if(value == null){
+			return null;
+		}
+
+		double result;
+
+		switch(function){
+			case PMMLFunctions.EXP:
+				result = Math.exp(value.doubleValue());
+				break;
+			case PMMLFunctions.LN:
+				if(value.doubleValue() <= 0d){
+					return null;
+				}
+
+				result = Math.log(value.doubleValue());
+				break;
+			default:
+				return null;
+		}
+
+		// Mathematical functions return a double, irrespective of the data type of the argument
+		return createConstant(DataType.DOUBLE, result);
+	}
+
+	/**
+	 * <p>
+	 * Replaces <code>x + 0</code>, <code>0 + x</code>, <code>x - 0</code>, <code>x * 1</code>, <code>1 * x</code> and <code>x / 1</code> with <code>x</code>.
+	 * </p>
+	 *
+	 * <p>
+	 * The result data type of an arithmetic function is the wider of its argument data types.
+	 * The rewrite is performed only if it is known that the neutral element does not widen the data type of <code>x</code>.
+	 * </p>
+	 */
+	private Expression simplifyArithmetic(String function, Apply apply, Expression left, Expression right){
+
+		switch(function){
+			case PMMLFunctions.ADD:
+				if(isNeutral(left, 0, right)){
+					return right;
+				}
+				// Falls through
+			case PMMLFunctions.SUBTRACT:
+				if(isNeutral(right, 0, left)){
+					return left;
+				}
+				break;
+			case PMMLFunctions.MULTIPLY:
+				if(isNeutral(left, 1, right)){
+					return right;
+				}
+				// Falls through
+			case PMMLFunctions.DIVIDE:
+				if(isNeutral(right, 1, left)){
+					return left;
+				}
+				break;
+			default:
+				break;
+		}
+
+		return apply;
+	}
+
+	private boolean isNeutral(Expression expression, int neutralValue, Expression operand){
+		DataType dataType = getNumericDataType(expression);
+
+		if(dataType == null){
+			return false;
+		}
+
+		Number value = getNumericValue((Constant)expression, dataType);
+		if(value == null || value.doubleValue() != neutralValue){
+			return false;
+		}
+
+		DataType operandDataType = getDataType(operand);
+
+		// The operand must be known to be numeric, because the neutral element would otherwise mask a type error
+		switch(dataType){
+			case INTEGER:
+				return (operandDataType == DataType.INTEGER) || (operandDataType == DataType.FLOAT) || (operandDataType == DataType.DOUBLE);
+			case FLOAT:
+			case DOUBLE:
+				return (operandDataType == DataType.DOUBLE) || (operandDataType == dataType);
+			default:
+				return false;
+		}
+	}
+
+	private void registerConstant(DerivedField derivedField){
+		String name = derivedField.requireName();
+
+		if(this.fields.get(name) != derivedField){
+			return;
+		}
+
+		Expression expression = derivedField.getExpression();
+
+		if(expression instanceof Constant){
+			Constant constant = (Constant)expression;
+
+			DataType dataType = derivedField.requireDataType();
+
+			if(!constant.isMissing() && constant.getValue() != null && (dataType).equals(constant.getDataType())){
+				this.constants.put(name, constant);
+			}
+		}
+	}
+
+	private DataType getDataType(Expression expression){
+
+		if(expression instanceof Constant){
+			return getNumericDataType(expression);
+		} else
+
+		if(expression instanceof FieldRef){
+			FieldRef fieldRef = (FieldRef)expression;
+
+			if(fieldRef.getMapMissingTo() != null){
+				return null;
+			}
+
+			Field<?> field = this.fields.get(fieldRef.requireField());
+			if(field != null){
+				return field.getDataType();
+			}
+		}
+
+		return null;
+	}
+
+	static
+	private DataType getNumericDataType(Expression expression){
+
+		if(!(expression instanceof Constant)){
+			return null;
+		}
+
+		Constant constant = (Constant)expression;
+
+		Object value = constant.getValue();
+		if(constant.isMissing() || value == null){
+			return null;
+		}
+
+		DataType dataType = constant.getDataType();
+		if(dataType == null){
+
+			if(value instanceof String){
+
+				try {
+					Long.parseLong((String)value);
+
+					return DataType.INTEGER;
+				} catch(NumberFormatException nfe){
+					return DataType.DOUBLE;
+				}
+			} else
+
+			if(value instanceof Number){
+				dataType = getNumberDataType((Number)value);
+
+				if(dataType == null){
+					return null;
+				}
+			} else
+
+			{
+				return null;
+			}
+		}
+
+		switch(dataType){
+			case INTEGER:
+			case FLOAT:
+			case DOUBLE:
+				return dataType;
+			default:
+				return null;
+		}
+	}
+
+	static
+	private Number getNumericValue(Constant constant, DataType dataType){
+		Object value = constant.getValue();
+
+		Number result;
+
+		if(value instanceof String){
+			String string = (String)value;
+
+			try {
+				switch(dataType){
+					case INTEGER:
+						result = Long.parseLong(string);
+						break;
+					case FLOAT:
+						result = Float.parseFloat(string);
+						break;
+					case DOUBLE:
+						result = Double.parseDouble(string);
+						break;
+					default:
+						return null;
+				}
+			} catch(NumberFormatException nfe){
+				return null;
+			}
+		} else
+
+		if(value instanceof Number){
+			Number number = (Number)value;
+
+			switch(dataType){
+				case INTEGER:
+					if(getNumberDataType(number) != DataType.INTEGER){
+						return null;
+					}
+
+					result = number.longValue();
+					break;
+				case FLOAT:
+					result = number.floatValue();
+					break;
+				case DOUBLE:
+					result = number.doubleValue();
+					break;
+				default:
+					return null;
+			}
+		} else
+
+		{
+			return null;
+		} // End if
+
+		if(!Double.isFinite(result.doubleValue())){
+			return null;
+		}
+
+		return result;
+	}
+
+	static
+	private DataType getNumberDataType(Number number){
+
+		if((number instanceof Byte) || (number instanceof Short) || (number instanceof Integer) || (number instanceof Long)){
+			return DataType.INTEGER;
+		} else
+
+		if(number instanceof Float){
+			return DataType.FLOAT;
+		} else
+
+		if(number instanceof Double){
+			return DataType.DOUBLE;
+		}
+
+		return null;
+	}
+
+	static
+	private Boolean getBoolean(Expression expression){
+
+		if(!(expression instanceof Constant)){
+			return null;
+		}
+
+		Constant constant = (Constant)expression;
+
+		Object value = constant.getValue();
+		if(constant.isMissing() || value == null){
+			return null;
+		}
+
+		DataType dataType = constant.getDataType();
+		if(dataType != null && dataType != DataType.BOOLEAN){
+			return null;
+		} // End if
+
+		if(value instanceof Boolean){
+			return (Boolean)value;
+		} else
+
+		if("true".equals(value)){
+			return Boolean.TRUE;
+		} else
+
+		if("false".equals(value)){
+			return Boolean.FALSE;
+		}
+
+		return null;
+	}
+
+	static
+	private Constant createConstant(DataType dataType, double value){
+
+		switch(dataType){
+			case FLOAT:
+				{
+					float floatValue = (float)value;
+
+					if(!Float.isFinite(floatValue)){
+						return null;
+					}
+
+					return ExpressionUtil.createConstant(DataType.FLOAT, floatValue);
+				}
+			case DOUBLE:
+				{
+					if(!Double.isFinite(value)){
+						return null;
+					}
+
+					return ExpressionUtil.createConstant(DataType.DOUBLE, value);
+				}
+			default:
+				return null;
+		}
+	}
+
+	static
+	private Constant copy(Constant constant){
+		return ExpressionUtil.createConstant(constant.getDataType(), constant.getValue());
+	}
+}
@@ -40,7 +40,6 @@ import org.dmg.pmml.VisitorAction;
 import org.dmg.pmml.mining.MiningModel;
 import org.dmg.pmml.mining.Segmentation;
 import org.jpmml.model.UnsupportedElementException;
-import org.jpmml.model.visitors.AbstractVisitor;
 
 public class FeatureExpander extends DeepFieldResolver {
 
@@ -121,8 +120,6 @@ public class FeatureExpander extends DeepFieldResolver {
 			featureFields.retainAll(localDerivedFields.values());
 		}
 
-		Map<String, DerivedField> globalDerivedFields = FieldUtil.nameMap(fieldDependencyResolver.getGlobalDerivedFields());
-
 		Map<String, Set<Field<?>>> expandedFields;
 
 		if(parentMiningModel != null){
@@ -133,6 +130,11 @@ public class FeatureExpander extends DeepFieldResolver {
 			expandedFields = ensureExpandedFeatures(model);
 		}
 
+		// The sets of expandable fields are the same for all features of the model
+		Set<DerivedField> extraLocalDerivedFields = null;
+		Set<DerivedField> localDerivedFieldSet = new HashSet<>(localDerivedFields.values());
+		Set<DerivedField> globalDerivedFieldSet = fieldDependencyResolver.getGlobalDerivedFields();
+
 		for(Field<?> featureField : featureFields){
 			String name = featureField.requireName();
 
@@ -149,29 +151,15 @@ public class FeatureExpander extends DeepFieldResolver {
 				if(model instanceof MiningModel){
 					MiningModel miningModel = (MiningModel)model;
 
-					Segmentation segmentation = miningModel.requireSegmentation();
-
-					Set<DerivedField> extraLocalDerivedFields = new HashSet<>();
-
-					Visitor visitor = new AbstractVisitor(){
-
-						@Override
-						public VisitorAction visit(LocalTransformations localTransformations){
-
-							if(localTransformations != null && localTransformations.hasDerivedFields()){
-								extraLocalDerivedFields.addAll(localTransformations.getDerivedFields());
-							}
-
-							return VisitorAction.CONTINUE;
-						}
-					};
-					visitor.applyTo(segmentation);
+					if(extraLocalDerivedFields == null){
+						extraLocalDerivedFields = collectLocalDerivedFields(miningModel.requireSegmentation());
+					}
 
 					fieldDependencyResolver.expand(expandedFeatureFields, extraLocalDerivedFields);
 				}
 
-				fieldDependencyResolver.expand(expandedFeatureFields, new HashSet<>(localDerivedFields.values()));
-				fieldDependencyResolver.expand(expandedFeatureFields, new HashSet<>(globalDerivedFields.values()));
+				fieldDependencyResolver.expand(expandedFeatureFields, localDerivedFieldSet);
+				fieldDependencyResolver.expand(expandedFeatureFields, globalDerivedFieldSet);
 
 				expandedFields.put(name, expandedFeatureFields);
 			} else
@@ -203,6 +191,27 @@ public class FeatureExpander extends DeepFieldResolver {
 		return null;
 	}
 
+	static
+	private Set<DerivedField> collectLocalDerivedFields(Segmentation segmentation){
+		Set<DerivedField> result = new HashSet<>();
+
+		Visitor visitor = new AbstractFilteringVisitor(Collections.singleton(LocalTransformations.class)){
+
+			@Override
+			public VisitorAction visit(LocalTransformations localTransformations){
+
+				if(localTransformations.hasDerivedFields()){
+					result.addAll(localTransformations.getDerivedFields());
+				}
+
+				return VisitorAction.SKIP;
+			}
+		};
+		visitor.applyTo(segmentation);
+
+		return result;
+	}
+
 	private Map<String, Set<Field<?>>> ensureExpandedFeatures(Model model){
 		Map<Model, Map<String, Set<Field<?>>>> expandedFeatures = getExpandedFeatures();
 
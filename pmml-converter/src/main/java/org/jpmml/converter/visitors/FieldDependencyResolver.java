@@ -18,11 +18,13 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,7 +40,6 @@ import org.dmg.pmml.OutputField;
 import org.dmg.pmml.PMMLObject;
 import org.dmg.pmml.TransformationDictionary;
 import org.dmg.pmml.VisitorAction;
-import org.jpmml.model.visitors.ActiveFieldFinder;
 import org.jpmml.model.visitors.FieldResolver;
 
 /**
@@ -50,6 +51,8 @@ public class FieldDependencyResolver extends FieldResolver {
 
 	private Map<Field<?>, Set<Field<?>>> dependencies = new IdentityHashMap<>();
 
+	private Map<Field<?>, Integer> heights = new IdentityHashMap<>();
+
 	private Set<DataField> dataFields = new HashSet<>();
 
 	private Set<DerivedField> globalDerivedFields = new HashSet<>();
@@ -65,6 +68,10 @@ public class FieldDependencyResolver extends FieldResolver {
 
 		this.dependencies.clear();
 
+		synchronized(this.heights){
+			this.heights.clear();
+		}
+
 		this.dataFields.clear();
 		this.globalDerivedFields.clear();
 		this.localDerivedFields.clear();
@@ -171,41 +178,114 @@ public class FieldDependencyResolver extends FieldResolver {
 		return this.outputFields;
 	}
 
+	/**
+	 * <p>
+	 * Replaces expandable fields with their dependencies, until there are no expandable fields left.
+	 * </p>
+	 *
+	 * <p>
+	 * Each expandable field is expanded at most once, in breadth-first order.
+	 * </p>
+	 *
+	 * @return Expanded fields.
+	 *
+	 * @throws IllegalStateException If the dependencies are cyclic, or too deeply nested.
+	 */
 	public Set<Field<?>> expand(Set<Field<?>> fields, Set<? extends Field<?>> expandableFields){
-		Set<Field<?>> removableFields = new LinkedHashSet<>();
 		Set<Field<?>> expandedFields = new LinkedHashSet<>();
 
-		for(int i = 0; true; i++){
+		List<Field<?>> removableFields = new ArrayList<>();
+
+		for(Field<?> field : fields){
+
+			if(expandableFields.contains(field)){
+				removableFields.add(field);
+			}
+		}
+
+		for(int i = 0; !removableFields.isEmpty(); i++){
 
 			if(i > FieldDependencyResolver.MAX_STACK_HEIGHT){
 				throw new IllegalStateException();
 			}
 
-			removableFields.clear();
+			fields.removeAll(removableFields);
+
+			List<Field<?>> nextRemovableFields = new ArrayList<>();
+
+			for(Field<?> removableField : removableFields){
+
+				if(!expandedFields.add(removableField)){
+					continue;
+				}
+
+				checkAcyclic(removableField);
+
+				Set<Field<?>> dependencies = getDependencies(removableField);
+
+				for(Field<?> dependency : dependencies){
+
+					if(expandableFields.contains(dependency)){
 
-			for(Field<?> field : fields){
+						if(!expandedFields.contains(dependency)){
+							nextRemovableFields.add(dependency);
+						}
+					} else
 
-				if(expandableFields.contains(field)){
-					removableFields.add(field);
+					{
+						fields.add(dependency);
+					}
 				}
 			}
 
-			if(removableFields.isEmpty()){
-				break;
+			removableFields = nextRemovableFields;
+		}
+
+		return expandedFields;
+	}
+
+	/**
+	 * <p>
+	 * Computes the height of a field in the dependency graph.
+	 * The result is memoized, so that the dependency graph is checked for cycles only once per field.
+	 * </p>
+	 */
+	private int checkAcyclic(Field<?> field){
+		return checkAcyclic(field, Collections.newSetFromMap(new IdentityHashMap<>()));
+	}
+
+	private int checkAcyclic(Field<?> field, Set<Field<?>> pendingFields){
+		Map<Field<?>, Integer> heights = this.heights;
+
+		synchronized(heights){
+			Integer height = heights.get(field);
+
+			if(height != null){
+				return height;
 			}
+		}
 
-			for(Field<?> removableField : removableFields){
-				Set<Field<?>> dependencies = getDependencies(removableField);
+		if(!pendingFields.add(field)){
+			throw new IllegalStateException("Field " + field.requireName() + " has a cyclic dependency");
+		}
 
-				fields.addAll(dependencies);
+		int result = 0;
+
+		Set<Field<?>> dependencies = this.dependencies.get(field);
+		if(dependencies != null){
+
+			for(Field<?> dependency : dependencies){
+				result = Math.max(result, checkAcyclic(dependency, pendingFields) + 1);
 			}
+		}
 
-			fields.removeAll(removableFields);
+		pendingFields.remove(field);
 
-			expandedFields.addAll(removableFields);
+		synchronized(heights){
+			heights.put(field, result);
 		}
 
-		return expandedFields;
+		return result;
 	}
 
 	private void process(Field<?> field){
@@ -216,7 +296,7 @@ public class FieldDependencyResolver extends FieldResolver {
 
 			Expression expression = hasExpression.getExpression();
 			if(expression != null){
-				Set<String> names = ActiveFieldFinder.getFieldNames(expression);
+				Set<String> names = FieldNameCache.getFieldNames(expression);
 
 				if(!names.isEmpty()){
 					Collection<Field<?>> fields = getFields();
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Predicate;
+import org.jpmml.model.visitors.ActiveFieldFinder;
+
+/**
+ * <p>
+ * An identity-keyed cache of the field names that are referenced by Expression and Predicate subtrees.
+ * </p>
+ *
+ * <p>
+ * The cache is active only within the scope of {@link #run(Runnable)}.
+ * Visitors that modify Expression or Predicate elements must call {@link #invalidate()} after doing so.
+ * </p>
+ */
+public class FieldNameCache {
+
+	private Map<PMMLObject, Set<String>> fieldNames = new IdentityHashMap<>();
+
+
+	private FieldNameCache(){
+	}
+
+	private Set<String> get(PMMLObject object){
+		Map<PMMLObject, Set<String>> fieldNames = this.fieldNames;
+
+		Set<String> result;
+
+		synchronized(fieldNames){
+			result = fieldNames.get(object);
+		}
+
+		if(result == null){
+			result = Collections.unmodifiableSet(ActiveFieldFinder.getFieldNames(object));
+
+			synchronized(fieldNames){
+				fieldNames.put(object, result);
+			}
+		}
+
+		return result;
+	}
+
+	private void clear(){
+		Map<PMMLObject, Set<String>> fieldNames = this.fieldNames;
+
+		synchronized(fieldNames){
+			fieldNames.clear();
+		}
+	}
+
+	static
+	public Set<String> getFieldNames(Expression expression){
+		return getFieldNames((PMMLObject)expression);
+	}
+
+	static
+	public Set<String> getFieldNames(Predicate predicate){
+		return getFieldNames((PMMLObject)predicate);
+	}
+
+	static
+	private Set<String> getFieldNames(PMMLObject object){
+		FieldNameCache cache = FieldNameCache.current.get();
+
+		if(cache != null){
+			return cache.get(object);
+		}
+
+		return ActiveFieldFinder.getFieldNames(object);
+	}
+
+	/**
+	 * <p>
+	 * Runs the action with a fresh cache.
+	 * </p>
+	 */
+	static
+	public void run(Runnable action){
+		run(new FieldNameCache(), action);
+	}
+
+	static
+	void run(FieldNameCache cache, Runnable action){
+		FieldNameCache prevCache = FieldNameCache.current.get();
+
+		FieldNameCache.current.set(cache);
+
+		try {
+			action.run();
+		} finally {
+
+			if(prevCache != null){
+				FieldNameCache.current.set(prevCache);
+			} else
+
+			{
+				FieldNameCache.current.remove();
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Discards all cached entries of the active cache, if any.
+	 * </p>
+	 */
+	static
+	public void invalidate(){
+		FieldNameCache cache = FieldNameCache.current.get();
+
+		if(cache != null){
+			cache.clear();
+		}
+	}
+
+	static
+	FieldNameCache current(){
+		return FieldNameCache.current.get();
+	}
+
+	private static final ThreadLocal<FieldNameCache> current = new ThreadLocal<>();
+}
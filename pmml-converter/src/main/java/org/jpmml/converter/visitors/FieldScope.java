@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dmg.pmml.Field;
+
+/**
+ * <p>
+ * A persistent name-to-field index over a field scope.
+ * </p>
+ *
+ * <p>
+ * Inner scopes are chained to outer scopes, so that the index of an outer scope can be built once and shared between any number of inner scopes.
+ * Fields are listed in resolution order, which is inner scope fields first, followed by outer scope fields.
+ * </p>
+ *
+ * @see FieldUtil#selectAll(Collection, Set, boolean)
+ */
+public class FieldScope {
+
+	private FieldScope parent = null;
+
+	private int level = 0;
+
+	private List<Field<?>> fields = null;
+
+	private Map<String, Integer> indices = null;
+
+	private Map<String, Field<?>> duplicateFields = null;
+
+
+	public FieldScope(Collection<? extends Field<?>> fields){
+		this(null, fields);
+	}
+
+	public FieldScope(FieldScope parent, Collection<? extends Field<?>> fields){
+		this.parent = parent;
+		this.level = (parent != null ? parent.level + 1 : 0);
+		this.fields = new ArrayList<>(fields);
+		this.indices = new HashMap<>(2 * fields.size());
+		this.duplicateFields = Collections.emptyMap();
+
+		for(int i = 0; i < this.fields.size(); i++){
+			Field<?> field = this.fields.get(i);
+
+			String name = field.requireName();
+
+			Integer index = this.indices.putIfAbsent(name, i);
+			if(index != null){
+
+				// Duplicate names are an error only if they get selected
+				if(this.duplicateFields.isEmpty()){
+					this.duplicateFields = new HashMap<>();
+				}
+
+				this.duplicateFields.putIfAbsent(name, field);
+			}
+		}
+	}
+
+	public FieldScope getParent(){
+		return this.parent;
+	}
+
+	public Collection<Field<?>> selectAll(Set<String> names){
+		return selectAll(names, false);
+	}
+
+	/**
+	 * <p>
+	 * Selects fields by name.
+	 * The cost of this operation is proportional to the number of names, not to the number of fields.
+	 * </p>
+	 *
+	 * @throws IllegalArgumentException If the selection is ambiguous or incomplete.
+	 */
+	public Collection<Field<?>> selectAll(Set<String> names, boolean allowPartialSelection){
+		List<Match> matches = new ArrayList<>(names.size());
+
+		Set<String> unmatchedNames = null;
+
+		for(String name : names){
+			Match match = resolve(name);
+
+			if(match == null){
+
+				if(unmatchedNames == null){
+					unmatchedNames = new LinkedHashSet<>();
+				}
+
+				unmatchedNames.add(name);
+
+				continue;
+			}
+
+			matches.add(match);
+		}
+
+		if(!(allowPartialSelection) && (unmatchedNames != null)){
+			throw new IllegalArgumentException("Name(s) " + unmatchedNames + " do not match any fields");
+		} // End if
+
+		if(matches.size() > 1){
+			matches.sort(Match.COMPARATOR);
+		}
+
+		List<Field<?>> result = new ArrayList<>(matches.size());
+
+		for(Match match : matches){
+			result.add(match.field);
+		}
+
+		return result;
+	}
+
+	private Match resolve(String name){
+		Match result = null;
+
+		for(FieldScope scope = this; scope != null; scope = scope.parent){
+			Integer index = scope.indices.get(name);
+
+			if(index == null){
+				continue;
+			}
+
+			Field<?> field = scope.fields.get(index);
+
+			if(result != null){
+				throw createDuplicateNameException(field, result.field, name);
+			}
+
+			Field<?> duplicateField = scope.duplicateFields.get(name);
+			if(duplicateField != null){
+				throw createDuplicateNameException(duplicateField, field, name);
+			}
+
+			result = new Match(scope.level, index, field);
+		}
+
+		return result;
+	}
+
+	static
+	private IllegalArgumentException createDuplicateNameException(Field<?> field, Field<?> previousField, String name){
+		return new IllegalArgumentException("Fields " + field + " and " + previousField + " have the same name " + name);
+	}
+
+	static
+	private class Match {
+
+		private int level = 0;
+
+		private int index = 0;
+
+		private Field<?> field = null;
+
+
+		private Match(int level, int index, Field<?> field){
+			this.level = level;
+			this.index = index;
+			this.field = field;
+		}
+
+		private static final Comparator<Match> COMPARATOR = Comparator.comparingInt((Match match) -> -match.level)
+			.thenComparingInt(match -> match.index);
+	}
+}
@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -29,14 +30,17 @@ import org.dmg.pmml.PMML;
 import org.dmg.pmml.PMMLObject;
 import org.dmg.pmml.TransformationDictionary;
 import org.dmg.pmml.VisitorAction;
-import org.jpmml.model.visitors.AbstractVisitor;
 import org.jpmml.model.visitors.Resettable;
 
-public class FunctionDictionaryCleaner extends AbstractVisitor implements Resettable {
+public class FunctionDictionaryCleaner extends AbstractFilteringVisitor implements Resettable {
 
 	public Set<String> functions = new HashSet<>();
 
 
+	public FunctionDictionaryCleaner(){
+		super(Collections.singleton(Apply.class));
+	}
+
 	@Override
 	public void reset(){
 		this.functions.clear();
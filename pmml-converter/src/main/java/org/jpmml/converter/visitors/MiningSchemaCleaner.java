@@ -26,6 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.DerivedField;
@@ -36,6 +37,7 @@ import org.dmg.pmml.MiningSchema;
 import org.dmg.pmml.Model;
 import org.dmg.pmml.OutputField;
 import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Visitable;
 import org.dmg.pmml.mining.MiningModel;
 import org.dmg.pmml.mining.Segment;
 import org.dmg.pmml.mining.Segmentation;
@@ -47,6 +49,34 @@ import org.dmg.pmml.mining.Segmentation;
  */
 public class MiningSchemaCleaner extends DeepFieldResolver {
 
+	private SegmentModelExecutor executor = null;
+
+
+	public MiningSchemaCleaner(){
+		this(null);
+	}
+
+	/**
+	 * @param forkJoinPool The pool for cleaning segment models concurrently, or <code>null</code> for sequential execution.
+	 */
+	public MiningSchemaCleaner(ForkJoinPool forkJoinPool){
+		this.executor = new SegmentModelExecutor(forkJoinPool);
+	}
+
+	@Override
+	public void reset(){
+		super.reset();
+
+		this.executor.reset();
+	}
+
+	@Override
+	public void applyTo(Visitable visitable){
+		super.applyTo(visitable);
+
+		this.executor.execute();
+	}
+
 	@Override
 	public PMMLObject popParent(){
 		PMMLObject parent = super.popParent();
@@ -54,6 +84,9 @@ public class MiningSchemaCleaner extends DeepFieldResolver {
 		if(parent instanceof MiningModel){
 			MiningModel miningModel = (MiningModel)parent;
 
+			// Segment models must be cleaned before their parent model
+			this.executor.execute();
+
 			Set<Field<?>> activeFields = processMiningModel(miningModel);
 
 			clean(miningModel, activeFields);
@@ -62,9 +95,16 @@ public class MiningSchemaCleaner extends DeepFieldResolver {
 		if(parent instanceof Model){
 			Model model = (Model)parent;
 
-			Set<Field<?>> activeFields = processModel(model);
+			// Field scopes are resolved here, because the state of the field resolver changes with the traversal
+			Collection<Field<?>> modelFields = DeepFieldResolverUtil.getModelFields(this, model);
+
+			Runnable action = () -> {
+				Set<Field<?>> activeFields = processModel(model, modelFields);
+
+				clean(model, activeFields);
+			};
 
-			clean(model, activeFields);
+			this.executor.submit(model, getParent(), action);
 		}
 
 		return parent;
@@ -107,8 +147,8 @@ public class MiningSchemaCleaner extends DeepFieldResolver {
 		return activeFields;
 	}
 
-	private Set<Field<?>> processModel(Model model){
-		Set<Field<?>> activeFields = DeepFieldResolverUtil.getActiveFields(this, model);
+	private Set<Field<?>> processModel(Model model, Collection<Field<?>> modelFields){
+		Set<Field<?>> activeFields = DeepFieldResolverUtil.getActiveFields(modelFields, model);
 
 		expandDerivedFields(model, activeFields);
 
@@ -18,14 +18,19 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Collections;
+
 import org.dmg.pmml.LocalTransformations;
 import org.dmg.pmml.Model;
 import org.dmg.pmml.Output;
 import org.dmg.pmml.Targets;
 import org.dmg.pmml.VisitorAction;
-import org.jpmml.model.visitors.AbstractVisitor;
 
-public class ModelCleaner extends AbstractVisitor {
+public class ModelCleaner extends AbstractFilteringVisitor {
+
+	public ModelCleaner(){
+		super(Collections.singleton(Model.class));
+	}
 
 	@Override
 	public VisitorAction visit(Model model){
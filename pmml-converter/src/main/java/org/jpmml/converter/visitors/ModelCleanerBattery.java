@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter.visitors;
 
+import org.dmg.pmml.Visitable;
 import org.jpmml.model.visitors.VisitorBattery;
 
 public class ModelCleanerBattery extends VisitorBattery {
@@ -41,4 +42,15 @@ public class ModelCleanerBattery extends VisitorBattery {
 		// Field container elements
 		add(ModelCleaner.class);
 	}
+
+	/**
+	 * <p>
+	 * The visitors of this battery do not modify Expression or Predicate elements.
+	 * Their field name lookups can therefore share a cache.
+	 * </p>
+	 */
+	@Override
+	public void applyTo(Visitable visitable){
+		FieldNameCache.run(() -> super.applyTo(visitable));
+	}
 }
\ No newline at end of file
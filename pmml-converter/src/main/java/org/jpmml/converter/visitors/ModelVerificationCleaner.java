@@ -23,6 +23,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.xml.namespace.QName;
 
@@ -38,8 +39,10 @@ import org.dmg.pmml.PMMLObject;
 import org.dmg.pmml.Row;
 import org.dmg.pmml.VerificationField;
 import org.dmg.pmml.VerificationFields;
+import org.dmg.pmml.Visitable;
 import org.dmg.pmml.Visitor;
 import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.mining.MiningModel;
 import org.jpmml.model.visitors.AbstractVisitor;
 import org.w3c.dom.Element;
 
@@ -50,14 +53,43 @@ import org.w3c.dom.Element;
  */
 public class ModelVerificationCleaner extends AbstractVisitor {
 
+	private SegmentModelExecutor executor = null;
+
+
+	public ModelVerificationCleaner(){
+		this(null);
+	}
+
+	/**
+	 * @param forkJoinPool The pool for cleaning segment models concurrently, or <code>null</code> for sequential execution.
+	 */
+	public ModelVerificationCleaner(ForkJoinPool forkJoinPool){
+		this.executor = new SegmentModelExecutor(forkJoinPool);
+	}
+
+	@Override
+	public void applyTo(Visitable visitable){
+		super.applyTo(visitable);
+
+		this.executor.execute();
+	}
+
 	@Override
 	public PMMLObject popParent(){
 		PMMLObject parent = super.popParent();
 
+		if(parent instanceof MiningModel){
+			MiningModel miningModel = (MiningModel)parent;
+
+			this.executor.execute();
+
+			processModel(miningModel);
+		} else
+
 		if(parent instanceof Model){
 			Model model = (Model)parent;
 
-			processModel(model);
+			this.executor.submit(model, getParent(), () -> processModel(model));
 		}
 
 		return parent;
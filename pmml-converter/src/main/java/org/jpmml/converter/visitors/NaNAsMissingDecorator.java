@@ -25,9 +25,12 @@ import org.dmg.pmml.DataType;
 import org.dmg.pmml.Value.Property;
 import org.dmg.pmml.VisitorAction;
 import org.jpmml.converter.FieldUtil;
-import org.jpmml.model.visitors.AbstractVisitor;
 
-public class NaNAsMissingDecorator extends AbstractVisitor {
+public class NaNAsMissingDecorator extends AbstractFilteringVisitor {
+
+	public NaNAsMissingDecorator(){
+		super(Collections.singleton(DataField.class));
+	}
 
 	@Override
 	public VisitorAction visit(DataField dataField){
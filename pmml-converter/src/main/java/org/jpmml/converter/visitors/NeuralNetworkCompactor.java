@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.LinearNorm;
+import org.dmg.pmml.MathContext;
+import org.dmg.pmml.NormContinuous;
+import org.dmg.pmml.OutlierTreatmentMethod;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.neural_network.Connection;
+import org.dmg.pmml.neural_network.NeuralInput;
+import org.dmg.pmml.neural_network.NeuralInputs;
+import org.dmg.pmml.neural_network.NeuralLayer;
+import org.dmg.pmml.neural_network.NeuralNetwork;
+import org.dmg.pmml.neural_network.NeuralOutput;
+import org.dmg.pmml.neural_network.NeuralOutputs;
+import org.dmg.pmml.neural_network.Neuron;
+
+/**
+ * <p>
+ * A Visitor that simplifies the structure of {@link NeuralNetwork neural networks}.
+ * </p>
+ *
+ * <ul>
+ *   <li>Folds linear {@link NormContinuous input normalizations} into the weights and biases of consuming neurons.</li>
+ *   <li>Fuses neural layers that have the identity activation function into the next neural layer.</li>
+ * </ul>
+ */
+public class NeuralNetworkCompactor extends AbstractFilteringVisitor {
+
+	public NeuralNetworkCompactor(){
+		super(Collections.singleton(NeuralNetwork.class));
+	}
+
+	@Override
+	public VisitorAction visit(NeuralNetwork neuralNetwork){
+		foldNeuralInputs(neuralNetwork);
+		fuseNeuralLayers(neuralNetwork);
+
+		return super.visit(neuralNetwork);
+	}
+
+	private void foldNeuralInputs(NeuralNetwork neuralNetwork){
+		MathContext mathContext = neuralNetwork.getMathContext();
+		NeuralInputs neuralInputs = neuralNetwork.requireNeuralInputs();
+		List<NeuralLayer> neuralLayers = neuralNetwork.requireNeuralLayers();
+
+		Set<String> outputIds = getOutputIds(neuralNetwork);
+
+		List<NeuralInput> inputs = neuralInputs.getNeuralInputs();
+		for(NeuralInput input : inputs){
+			String id = input.requireId();
+			DerivedField derivedField = input.requireDerivedField();
+
+			Expression expression = derivedField.requireExpression();
+
+			if(!(expression instanceof NormContinuous) || outputIds.contains(id)){
+				continue;
+			}
+
+			NormContinuous normContinuous = (NormContinuous)expression;
+
+			double[] coefficients = getLinearCoefficients(normContinuous);
+			if(coefficients == null){
+				continue;
+			}
+
+			double slope = coefficients[0];
+			double intercept = coefficients[1];
+
+			if(!canUpdateConnections(neuralNetwork, neuralLayers, id)){
+				continue;
+			}
+
+			for(NeuralLayer neuralLayer : neuralLayers){
+				List<Neuron> neurons = neuralLayer.getNeurons();
+
+				for(Neuron neuron : neurons){
+
+					if(!neuron.hasConnections()){
+						continue;
+					}
+
+					double bias = getBias(neuron);
+
+					boolean updated = false;
+
+					List<Connection> connections = neuron.getConnections();
+					for(Connection connection : connections){
+
+						if(!(id).equals(connection.requireFrom())){
+							continue;
+						}
+
+						double weight = (connection.requireWeight()).doubleValue();
+
+						bias += (weight * intercept);
+
+						connection.setWeight(toNumber(mathContext, weight * slope));
+
+						updated = true;
+					}
+
+					if(updated){
+						setBias(mathContext, neuron, bias);
+					}
+				}
+			}
+
+			derivedField.setExpression(new FieldRef(normContinuous.requireField()));
+		}
+	}
+
+	private void fuseNeuralLayers(NeuralNetwork neuralNetwork){
+		List<NeuralLayer> neuralLayers = neuralNetwork.requireNeuralLayers();
+
+		Set<String> outputIds = getOutputIds(neuralNetwork);
+
+		for(int i = 0; i < (neuralLayers.size() - 1); ){
+			NeuralLayer neuralLayer = neuralLayers.get(i);
+			NeuralLayer nextNeuralLayer = neuralLayers.get(i + 1);
+
+			if(fuseNeuralLayers(neuralNetwork, neuralLayer, nextNeuralLayer, neuralLayers.subList(i + 2, neuralLayers.size()), outputIds)){
+				neuralLayers.remove(i);
+			} else
+
+			{
+				i++;
+			}
+		}
+
+		Integer numberOfLayers = neuralNetwork.getNumberOfLayers();
+		if(numberOfLayers != null){
+			neuralNetwork.setNumberOfLayers(neuralLayers.size());
+		}
+	}
+
+	private boolean fuseNeuralLayers(NeuralNetwork neuralNetwork, NeuralLayer neuralLayer, NeuralLayer nextNeuralLayer, List<NeuralLayer> downstreamNeuralLayers, Set<String> outputIds){
+		MathContext mathContext = neuralNetwork.getMathContext();
+
+		if(getActivationFunction(neuralNetwork, neuralLayer) != NeuralNetwork.ActivationFunction.IDENTITY || getNormalizationMethod(neuralNetwork, neuralLayer) != NeuralNetwork.NormalizationMethod.NONE){
+			return false;
+		} // End if
+
+		if(!isWeightedSum(neuralNetwork, nextNeuralLayer)){
+			return false;
+		}
+
+		Map<String, Neuron> neurons = new LinkedHashMap<>();
+
+		List<Neuron> layerNeurons = neuralLayer.getNeurons();
+		for(Neuron neuron : layerNeurons){
+			neurons.put(neuron.requireId(), neuron);
+		}
+
+		// The neurons of the identity layer must not be referenced from outside of the next layer
+		for(String outputId : outputIds){
+
+			if(neurons.containsKey(outputId)){
+				return false;
+			}
+		}
+
+		for(NeuralLayer downstreamNeuralLayer : downstreamNeuralLayers){
+
+			if(referencesAny(downstreamNeuralLayer, neurons.keySet())){
+				return false;
+			}
+		}
+
+		int numberOfConnections = countConnections(neuralLayer) + countConnections(nextNeuralLayer);
+
+		Map<Neuron, Map<String, Double>> fusedWeights = new LinkedHashMap<>();
+		Map<Neuron, Double> fusedBiases = new LinkedHashMap<>();
+
+		int numberOfFusedConnections = 0;
+
+		List<Neuron> nextNeurons = nextNeuralLayer.getNeurons();
+		for(Neuron nextNeuron : nextNeurons){
+			Map<String, Double> weights = new LinkedHashMap<>();
+
+			double bias = getBias(nextNeuron);
+
+			List<Connection> nextConnections = nextNeuron.getConnections();
+			for(Connection nextConnection : nextConnections){
+				String from = nextConnection.requireFrom();
+				double nextWeight = (nextConnection.requireWeight()).doubleValue();
+
+				Neuron neuron = neurons.get(from);
+				if(neuron == null){
+					weights.merge(from, nextWeight, Double::sum);
+
+					continue;
+				}
+
+				bias += (nextWeight * getBias(neuron));
+
+				List<Connection> connections = neuron.getConnections();
+				for(Connection connection : connections){
+					weights.merge(connection.requireFrom(), nextWeight * (connection.requireWeight()).doubleValue(), Double::sum);
+				}
+			}
+
+			weights.values().removeIf(weight -> weight == 0d);
+
+			numberOfFusedConnections += weights.size();
+
+			fusedWeights.put(nextNeuron, weights);
+			fusedBiases.put(nextNeuron, bias);
+		}
+
+		// Fusion is a trade-off between the number of layers and the number of connections
+		if(numberOfFusedConnections > numberOfConnections){
+			return false;
+		}
+
+		Collection<Map.Entry<Neuron, Map<String, Double>>> entries = fusedWeights.entrySet();
+		for(Map.Entry<Neuron, Map<String, Double>> entry : entries){
+			Neuron nextNeuron = entry.getKey();
+			Map<String, Double> weights = entry.getValue();
+
+			List<Connection> connections = nextNeuron.getConnections();
+			connections.clear();
+
+			Collection<Map.Entry<String, Double>> weightEntries = weights.entrySet();
+			for(Map.Entry<String, Double> weightEntry : weightEntries){
+				Connection connection = new Connection(weightEntry.getKey(), toNumber(mathContext, weightEntry.getValue()));
+
+				connections.add(connection);
+			}
+
+			setBias(mathContext, nextNeuron, fusedBiases.get(nextNeuron));
+		}
+
+		return true;
+	}
+
+	static
+	private boolean canUpdateConnections(NeuralNetwork neuralNetwork, List<NeuralLayer> neuralLayers, String id){
+
+		for(NeuralLayer neuralLayer : neuralLayers){
+
+			if(!isWeightedSum(neuralNetwork, neuralLayer) && referencesAny(neuralLayer, Collections.singleton(id))){
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	static
+	private double[] getLinearCoefficients(NormContinuous normContinuous){
+		Number mapMissingTo = normContinuous.getMapMissingTo();
+		OutlierTreatmentMethod outlierTreatmentMethod = normContinuous.getOutliers();
+
+		if(mapMissingTo != null || outlierTreatmentMethod != OutlierTreatmentMethod.AS_IS){
+			return null;
+		}
+
+		List<LinearNorm> linearNorms = normContinuous.requireLinearNorms();
+		if(linearNorms.size() != 2){
+			return null;
+		}
+
+		LinearNorm start = linearNorms.get(0);
+		LinearNorm end = linearNorms.get(1);
+
+		double startOrig = (start.requireOrig()).doubleValue();
+		double startNorm = (start.requireNorm()).doubleValue();
+
+		double endOrig = (end.requireOrig()).doubleValue();
+		double endNorm = (end.requireNorm()).doubleValue();
+
+		if(startOrig == endOrig){
+			return null;
+		}
+
+		double slope = (endNorm - startNorm) / (endOrig - startOrig);
+		double intercept = startNorm - (slope * startOrig);
+
+		return new double[]{slope, intercept};
+	}
+
+	static
+	private Set<String> getOutputIds(NeuralNetwork neuralNetwork){
+		NeuralOutputs neuralOutputs = neuralNetwork.getNeuralOutputs();
+
+		Set<String> result = new HashSet<>();
+
+		if(neuralOutputs != null){
+			List<NeuralOutput> outputs = neuralOutputs.getNeuralOutputs();
+
+			for(NeuralOutput neuralOutput : outputs){
+				result.add(neuralOutput.requireOutputNeuron());
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private boolean referencesAny(NeuralLayer neuralLayer, Set<String> ids){
+		List<Neuron> neurons = neuralLayer.getNeurons();
+
+		for(Neuron neuron : neurons){
+			List<Connection> connections = neuron.getConnections();
+
+			for(Connection connection : connections){
+
+				if(ids.contains(connection.requireFrom())){
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	static
+	private int countConnections(NeuralLayer neuralLayer){
+		List<Neuron> neurons = neuralLayer.getNeurons();
+
+		int result = 0;
+
+		for(Neuron neuron : neurons){
+			result += (neuron.getConnections()).size();
+		}
+
+		return result;
+	}
+
+	static
+	private NeuralNetwork.ActivationFunction getActivationFunction(NeuralNetwork neuralNetwork, NeuralLayer neuralLayer){
+		NeuralNetwork.ActivationFunction activationFunction = neuralLayer.getActivationFunction();
+
+		if(activationFunction == null){
+			activationFunction = neuralNetwork.requireActivationFunction();
+		}
+
+		return activationFunction;
+	}
+
+	static
+	private NeuralNetwork.NormalizationMethod getNormalizationMethod(NeuralNetwork neuralNetwork, NeuralLayer neuralLayer){
+		NeuralNetwork.NormalizationMethod normalizationMethod = neuralLayer.getNormalizationMethod();
+
+		if(normalizationMethod == null){
+			normalizationMethod = neuralNetwork.getNormalizationMethod();
+		}
+
+		return (normalizationMethod != null ? normalizationMethod : NeuralNetwork.NormalizationMethod.NONE);
+	}
+
+	static
+	private boolean isWeightedSum(NeuralNetwork neuralNetwork, NeuralLayer neuralLayer){
+		NeuralNetwork.ActivationFunction activationFunction = getActivationFunction(neuralNetwork, neuralLayer);
+
+		switch(activationFunction){
+			case RADIAL_BASIS:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	static
+	private double getBias(Neuron neuron){
+		Number bias = neuron.getBias();
+
+		return (bias != null ? bias.doubleValue() : 0d);
+	}
+
+	static
+	private void setBias(MathContext mathContext, Neuron neuron, double bias){
+		neuron.setBias(bias != 0d ? toNumber(mathContext, bias) : null);
+	}
+
+	static
+	private Number toNumber(MathContext mathContext, double value){
+
+		if(mathContext == null){
+			mathContext = MathContext.DOUBLE;
+		}
+
+		switch(mathContext){
+			case FLOAT:
+				return (float)value;
+			default:
+				return value;
+		}
+	}
+}
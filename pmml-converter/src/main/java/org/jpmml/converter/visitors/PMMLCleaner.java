@@ -18,12 +18,17 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Collections;
+
 import org.dmg.pmml.PMML;
 import org.dmg.pmml.TransformationDictionary;
 import org.dmg.pmml.VisitorAction;
-import org.jpmml.model.visitors.AbstractVisitor;
 
-public class PMMLCleaner extends AbstractVisitor {
+public class PMMLCleaner extends AbstractFilteringVisitor {
+
+	public PMMLCleaner(){
+		super(Collections.singleton(PMML.class));
+	}
 
 	@Override
 	public VisitorAction visit(PMML pmml){
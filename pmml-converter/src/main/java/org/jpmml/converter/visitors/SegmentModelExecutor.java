@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.dmg.pmml.Model;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segment;
+
+/**
+ * <p>
+ * Defers the cleaning of segment models, and then executes it concurrently.
+ * </p>
+ *
+ * <p>
+ * A deferred action must only modify its own model, and must only read state that no other action modifies.
+ * Under these conditions, the result is identical to sequential execution.
+ * </p>
+ *
+ * <p>
+ * Without a pool, all actions are run immediately in the submitting thread.
+ * </p>
+ */
+class SegmentModelExecutor {
+
+	private ForkJoinPool forkJoinPool = null;
+
+	private List<Runnable> actions = new ArrayList<>();
+
+
+	SegmentModelExecutor(){
+		this(null);
+	}
+
+	/**
+	 * @param forkJoinPool The pool for executing deferred actions, or <code>null</code> for sequential execution.
+	 */
+	SegmentModelExecutor(ForkJoinPool forkJoinPool){
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	public boolean isConcurrent(){
+		return (this.forkJoinPool != null);
+	}
+
+	/**
+	 * <p>
+	 * Runs the action now, or defers it until the next {@link #execute()} if the model is a non-composite segment model and the execution is concurrent.
+	 * </p>
+	 *
+	 * @param parent The parent element of the model.
+	 */
+	public void submit(Model model, PMMLObject parent, Runnable action){
+
+		if(isConcurrent() && (parent instanceof Segment) && !(model instanceof MiningModel)){
+			FieldNameCache cache = FieldNameCache.current();
+
+			// Worker threads must see the same field name cache as the submitting thread
+			if(cache != null){
+				Runnable cacheableAction = action;
+
+				action = () -> FieldNameCache.run(cache, cacheableAction);
+			}
+
+			this.actions.add(action);
+		} else
+
+		{
+			action.run();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Executes all deferred actions, and waits for their completion.
+	 * </p>
+	 */
+	public void execute(){
+		List<Runnable> actions = new ArrayList<>(this.actions);
+
+		this.actions.clear();
+
+		if(actions.isEmpty()){
+			return;
+		} else
+
+		if(actions.size() == 1){
+			Runnable action = actions.get(0);
+
+			action.run();
+		} else
+
+		{
+			this.forkJoinPool.invoke(new ActionTask(actions, 0, actions.size()));
+		}
+	}
+
+	public void reset(){
+		this.actions.clear();
+	}
+
+	static
+	private class ActionTask extends RecursiveAction {
+
+		private List<Runnable> actions = null;
+
+		private int begin = 0;
+
+		private int end = 0;
+
+
+		private ActionTask(List<Runnable> actions, int begin, int end){
+			this.actions = actions;
+			this.begin = begin;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute(){
+			int begin = this.begin;
+			int end = this.end;
+
+			if((end - begin) <= 1){
+
+				for(int i = begin; i < end; i++){
+					Runnable action = this.actions.get(i);
+
+					action.run();
+				}
+
+				return;
+			}
+
+			int middle = (begin + end) >>> 1;
+
+			invokeAll(
+				new ActionTask(this.actions, begin, middle),
+				new ActionTask(this.actions, middle, end)
+			);
+		}
+	}
+}
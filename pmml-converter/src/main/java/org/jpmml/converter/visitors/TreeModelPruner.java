@@ -18,13 +18,21 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.dmg.pmml.False;
 import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.Model;
 import org.dmg.pmml.Predicate;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.mining.Segment;
+import org.dmg.pmml.mining.Segmentation;
 import org.dmg.pmml.tree.Node;
 import org.dmg.pmml.tree.TreeModel;
 import org.jpmml.model.ReflectionUtil;
@@ -34,6 +42,70 @@ public class TreeModelPruner extends AbstractTreeModelTransformer {
 
 	private MiningFunction miningFunction = null;
 
+	private Set<TreeModel> prunedTreeModels = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private SegmentModelExecutor executor = null;
+
+
+	public TreeModelPruner(){
+		this(null);
+	}
+
+	/**
+	 * @param forkJoinPool The pool for pruning the tree models of segments concurrently, or <code>null</code> for sequential execution.
+	 */
+	public TreeModelPruner(ForkJoinPool forkJoinPool){
+		this.executor = new SegmentModelExecutor(forkJoinPool);
+	}
+
+	/**
+	 * <p>
+	 * Prunes the tree models of segments concurrently.
+	 * Every tree model is pruned by its own visitor instance, so the result does not depend on the order of execution.
+	 * </p>
+	 *
+	 * @see #createSegmentPruner()
+	 */
+	@Override
+	public VisitorAction visit(Segmentation segmentation){
+
+		if(!this.executor.isConcurrent()){
+			return super.visit(segmentation);
+		}
+
+		List<Segment> segments = segmentation.requireSegments();
+
+		for(Segment segment : segments){
+			Model model = segment.requireModel();
+
+			if(model instanceof TreeModel){
+				TreeModel treeModel = (TreeModel)model;
+
+				TreeModelPruner pruner = createSegmentPruner();
+				if(pruner == null){
+					continue;
+				}
+
+				this.executor.submit(treeModel, segment, () -> pruner.applyTo(treeModel));
+
+				this.prunedTreeModels.add(treeModel);
+			}
+		}
+
+		this.executor.execute();
+
+		return super.visit(segmentation);
+	}
+
+	@Override
+	public VisitorAction visit(TreeModel treeModel){
+
+		if(this.prunedTreeModels.remove(treeModel)){
+			return VisitorAction.SKIP;
+		}
+
+		return super.visit(treeModel);
+	}
 
 	@Override
 	public void enterNode(Node node){
@@ -116,4 +188,26 @@ public class TreeModelPruner extends AbstractTreeModelTransformer {
 
 		this.miningFunction = null;
 	}
+
+	/**
+	 * <p>
+	 * Creates a sequential visitor for pruning the tree model of a single segment.
+	 * </p>
+	 *
+	 * <p>
+	 * Subclasses should override this method to return an instance of their own class.
+	 * The default implementation returns <code>null</code> for subclasses,
+	 * in which case their tree models are pruned sequentially, as part of the main traversal.
+	 * </p>
+	 *
+	 * @return A visitor, or <code>null</code>.
+	 */
+	protected TreeModelPruner createSegmentPruner(){
+
+		if(getClass() != TreeModelPruner.class){
+			return null;
+		}
+
+		return new TreeModelPruner();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dmg.pmml.Array;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.SimpleSetPredicate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ArrayManagerTest {
+
+	@Test
+	public void createArray(){
+		ArrayManager arrayManager = new ArrayManager();
+
+		List<String> values = new ArrayList<>(Arrays.asList("a", "b"));
+
+		Array array = arrayManager.createArray(DataType.STRING, values);
+
+		assertEquals(Array.Type.STRING, array.getType());
+		assertEquals(values, array.getValue());
+
+		assertSame(array, arrayManager.createArray(DataType.STRING, Arrays.asList("a", "b")));
+
+		// Changes to the value list do not affect interned arrays
+		values.add("c");
+
+		assertEquals(Arrays.asList("a", "b"), array.getValue());
+		assertNotSame(array, arrayManager.createArray(DataType.STRING, values));
+
+		assertEquals(Array.Type.INT, (arrayManager.createArray(DataType.INTEGER, Arrays.asList(1, 2))).getType());
+		assertEquals(Array.Type.REAL, (arrayManager.createArray(DataType.DOUBLE, Arrays.asList(1d, 2d))).getType());
+
+		assertEquals(4, arrayManager.size());
+	}
+
+	@Test
+	public void sharePredicateArrays(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		ArrayManager arrayManager = new ArrayManager();
+
+		PredicateManager firstPredicateManager = new PredicateManager(arrayManager);
+		PredicateManager secondPredicateManager = new PredicateManager(arrayManager);
+
+		SimpleSetPredicate firstSimpleSetPredicate = (SimpleSetPredicate)firstPredicateManager.createSimpleSetPredicate(new StringFeature(encoder, "x"), SimpleSetPredicate.BooleanOperator.IS_IN, Arrays.asList("a", "b"));
+		SimpleSetPredicate secondSimpleSetPredicate = (SimpleSetPredicate)secondPredicateManager.createSimpleSetPredicate(new StringFeature(encoder, "y"), SimpleSetPredicate.BooleanOperator.IS_NOT_IN, Arrays.asList("a", "b"));
+
+		assertSame(firstSimpleSetPredicate.requireArray(), secondSimpleSetPredicate.requireArray());
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.dmg.pmml.DataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CategorySetTest {
+
+	@Test
+	public void setOperations(){
+		CategorySet domain = CategorySet.create(Arrays.asList("a", "b", "c", "d"));
+
+		assertEquals(4, domain.size());
+		assertEquals(new LinkedHashSet<>(Arrays.asList("a", "b", "c", "d")), domain);
+
+		CategorySet left = (CategorySet)domain.subset(Arrays.asList("d", "a"));
+		CategorySet right = (CategorySet)domain.subset(Arrays.asList("a", "b"));
+
+		assertEquals(Arrays.asList("a", "d"), new ArrayList<>(left));
+
+		assertTrue(left.contains("a"));
+		assertFalse(left.contains("b"));
+		assertFalse(left.contains("e"));
+
+		assertEquals(Set.of("a"), left.intersect(right));
+		assertEquals(Set.of("a", "b", "d"), left.union(right));
+		assertEquals(Set.of("d"), left.difference(right));
+		assertEquals(Set.of("b", "c"), left.complement());
+		assertEquals(Set.of("d"), left.filter(value -> !("a").equals(value)));
+
+		Set<Object> open = domain.subset(Arrays.asList("a", "e"));
+
+		assertFalse(open instanceof CategorySet);
+		assertEquals(Set.of("a", "e"), open);
+	}
+
+	@Test
+	public void categoryManager(){
+		CategoricalFeature categoricalFeature = new CategoricalFeature(new ModelEncoder(), "x", DataType.STRING, Arrays.asList("a", "b", "c"));
+
+		CategoryManager categoryManager = new CategoryManager()
+			.fork(categoricalFeature);
+
+		CategoryManager leftCategoryManager = categoryManager.fork("x", Arrays.asList("a", "c"));
+
+		Set<Object> values = leftCategoryManager.getValue("x");
+
+		assertTrue(values instanceof CategorySet);
+
+		Predicate<Object> valueFilter = leftCategoryManager.getValueFilter("x");
+
+		assertTrue(valueFilter.test("a"));
+		assertFalse(valueFilter.test("b"));
+
+		assertEquals(Set.of("b"), ((CategorySet)values).complement());
+	}
+}
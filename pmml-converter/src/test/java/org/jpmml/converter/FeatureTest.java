@@ -18,17 +18,24 @@
  */
 package org.jpmml.converter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+import org.dmg.pmml.Apply;
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.DataType;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.FieldRef;
 import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMMLFunctions;
 import org.dmg.pmml.Value;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class FeatureTest {
 
@@ -52,6 +59,8 @@ public class FeatureTest {
 
 		assertEquals("float(" + continuousOne.getName() + ")", continuousFloatOne.getName());
 		assertEquals(DataType.FLOAT, continuousFloatOne.getDataType());
+
+		assertSame(continuousFloatOne.getName(), (binaryOne.toContinuousFeature(DataType.FLOAT)).getName());
 	}
 
 	@Test
@@ -111,6 +120,8 @@ public class FeatureTest {
 
 		assertNotNull(encoder.getDerivedField(continuousIntegerOne.getName()));
 
+		assertSame(integerOne.getDerivedName(), (new ConstantFeature(encoder, 1)).getDerivedName());
+
 		ConstantFeature floatOne = new ConstantFeature(encoder, 1f);
 
 		assertEquals("1.0f", floatOne.getName());
@@ -165,6 +176,43 @@ public class FeatureTest {
 		assertNotNull(encoder.getDerivedField(continuousFloatOneThree.getName()));
 
 		assertNotNull(encoder.getDerivedField("x=2"));
+
+		Apply apply = (Apply)(encoder.getDerivedField(continuousTwoOneThree.getName())).requireExpression();
+
+		assertEquals(PMMLFunctions.MULTIPLY, apply.requireFunction());
+		assertEquals(2, (apply.getExpressions()).size());
+
+		InteractionFeature interactionOneTwoThree = new InteractionFeature(encoder, "x=1:x=2:x=3", DataType.DOUBLE, Arrays.asList(binaryOne, binaryTwo, binaryThree));
+
+		ContinuousFeature continuousOneTwoThree = interactionOneTwoThree.toContinuousFeature();
+
+		apply = (Apply)(encoder.getDerivedField(continuousOneTwoThree.getName())).requireExpression();
+
+		String prefixName = FieldNameUtil.create(PMMLFunctions.MULTIPLY, "x=1", "x=2");
+
+		// The n-ary product function would ignore missing arguments
+		assertEquals(PMMLFunctions.MULTIPLY, apply.requireFunction());
+		assertEquals(Arrays.asList(prefixName, "x=3"), getFieldNames(apply));
+
+		apply = (Apply)(encoder.getDerivedField(prefixName)).requireExpression();
+
+		assertEquals(PMMLFunctions.MULTIPLY, apply.requireFunction());
+		assertEquals(Arrays.asList("x=1", "x=2"), getFieldNames(apply));
+
+		InteractionFeature interactionOneTwoOneThree = new InteractionFeature(encoder, "x=1:x=2:x=1:x=3", DataType.DOUBLE, Arrays.asList(binaryOne, binaryTwo, binaryOne, interactionOneThree));
+
+		ContinuousFeature continuousOneTwoOneThree = interactionOneTwoOneThree.toContinuousFeature();
+
+		apply = (Apply)(encoder.getDerivedField(continuousOneTwoOneThree.getName())).requireExpression();
+
+		String longerPrefixName = FieldNameUtil.create(PMMLFunctions.MULTIPLY, prefixName, "x=1");
+
+		assertEquals(Arrays.asList(longerPrefixName, "x=1:x=3"), getFieldNames(apply));
+
+		apply = (Apply)(encoder.getDerivedField(longerPrefixName)).requireExpression();
+
+		// Shares the prefix with the previous interaction feature
+		assertEquals(Arrays.asList(prefixName, "x=1"), getFieldNames(apply));
 	}
 
 	@Test
@@ -200,4 +248,17 @@ public class FeatureTest {
 		assertEquals(DataType.DOUBLE, dataField.requireDataType());
 		assertEquals(Arrays.asList("1", "2", "3"), FieldUtil.getValues(dataField));
 	}
+
+	static
+	private List<String> getFieldNames(Apply apply){
+		List<String> result = new ArrayList<>();
+
+		for(Expression expression : apply.getExpressions()){
+			FieldRef fieldRef = (FieldRef)expression;
+
+			result.add(fieldRef.requireField());
+		}
+
+		return result;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.Arrays;
+
+import org.dmg.pmml.DataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FieldNameUtilTest {
+
+	@Test
+	public void create(){
+		assertEquals("f", FieldNameUtil.create("f"));
+		assertEquals("f(x)", FieldNameUtil.create("f", "x"));
+		assertEquals("f(x, 1, 2.0)", FieldNameUtil.create("f", "x", 1, 2d));
+		assertEquals("f(1, 2, 3, 4, 5)", FieldNameUtil.create("f", Arrays.asList(1, 2, 3, 4, 5)));
+		assertEquals("f(1, 2, .., 5, 6)", FieldNameUtil.create("f", Arrays.asList(1, 2, 3, 4, 5, 6)));
+
+		assertEquals("double(x)", FieldNameUtil.create(DataType.DOUBLE, "x"));
+	}
+}
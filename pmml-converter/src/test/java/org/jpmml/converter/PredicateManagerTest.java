@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.SimpleSetPredicate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PredicateManagerTest {
+
+	@Test
+	public void createPredicate(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<String> values = Arrays.asList("a", "b", "c", "d", "e");
+
+		CategoricalFeature categoricalFeature = new CategoricalFeature(encoder, "x", DataType.STRING, values);
+
+		PredicateManager predicateManager = new PredicateManager();
+
+		SimpleSetPredicate simpleSetPredicate = (SimpleSetPredicate)predicateManager.createPredicate(categoricalFeature, Arrays.asList("a", "b"));
+
+		assertEquals(SimpleSetPredicate.BooleanOperator.IS_IN, simpleSetPredicate.requireBooleanOperator());
+		assertEquals(Arrays.asList("a", "b"), (simpleSetPredicate.requireArray()).getValue());
+
+		simpleSetPredicate = (SimpleSetPredicate)predicateManager.createPredicate(categoricalFeature, Arrays.asList("a", "c", "d"));
+
+		// Complement predicates are opt-in
+		assertEquals(SimpleSetPredicate.BooleanOperator.IS_IN, simpleSetPredicate.requireBooleanOperator());
+		assertEquals(Arrays.asList("a", "c", "d"), (simpleSetPredicate.requireArray()).getValue());
+
+		SimpleSetPredicate complementSimpleSetPredicate = (SimpleSetPredicate)predicateManager.createPredicate(categoricalFeature, Arrays.asList("a", "c", "d"), true);
+
+		assertEquals(SimpleSetPredicate.BooleanOperator.IS_NOT_IN, complementSimpleSetPredicate.requireBooleanOperator());
+		assertEquals(Arrays.asList("b", "e"), (complementSimpleSetPredicate.requireArray()).getValue());
+
+		SimplePredicate simplePredicate = (SimplePredicate)predicateManager.createPredicate(categoricalFeature, Arrays.asList("a", "b", "c", "d"), true);
+
+		assertEquals(SimplePredicate.Operator.NOT_EQUAL, simplePredicate.requireOperator());
+		assertEquals("e", simplePredicate.requireValue());
+
+		simpleSetPredicate = (SimpleSetPredicate)predicateManager.createPredicate(categoricalFeature, values, true);
+
+		assertEquals(SimpleSetPredicate.BooleanOperator.IS_IN, simpleSetPredicate.requireBooleanOperator());
+
+		// Values outside of the domain
+		simpleSetPredicate = (SimpleSetPredicate)predicateManager.createPredicate(categoricalFeature, Arrays.asList("a", "b", "c", "z"), true);
+
+		assertEquals(SimpleSetPredicate.BooleanOperator.IS_IN, simpleSetPredicate.requireBooleanOperator());
+
+		SimpleSetPredicate otherSimpleSetPredicate = (SimpleSetPredicate)predicateManager.createPredicate(new CategoricalFeature(encoder, "y", DataType.STRING, values), Arrays.asList("a", "c", "d"), true);
+
+		// Arrays are shared between fields
+		assertSame(otherSimpleSetPredicate.requireArray(), complementSimpleSetPredicate.requireArray());
+	}
+}
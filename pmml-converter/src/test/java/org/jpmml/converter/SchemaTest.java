@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dmg.pmml.DataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SchemaTest extends ModelTest {
+
+	@Test
+	public void findFeature(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Feature x1 = createContinuousFeature(encoder, "x1");
+		Feature x2 = createContinuousFeature(encoder, "x2");
+		Feature duplicateX1 = createContinuousFeature(encoder, "x1");
+
+		List<Feature> features = Arrays.asList(x1, x2, duplicateX1);
+
+		ScalarLabel label = new ContinuousLabel("y", DataType.DOUBLE);
+
+		Schema schema = new Schema(encoder, label, features);
+
+		assertSame(x1, schema.findFeature("x1"));
+		assertSame(x2, schema.findFeature("x2"));
+		assertNull(schema.findFeature("x3"));
+
+		assertSame(FeatureUtil.findFeature(features, "x1"), FeatureUtil.findFeature(schema, "x1"));
+
+		assertEquals(0, schema.indexOf(x1));
+		assertEquals(1, schema.indexOf(x2));
+		assertEquals(2, schema.indexOf(duplicateX1));
+		assertEquals(-1, schema.indexOf(createContinuousFeature(encoder, "x2")));
+
+		assertNull(schema.findLabelFeature(label));
+
+		Schema anonymousSchema = schema.toAnonymousSchema();
+
+		assertSame(x2, anonymousSchema.findFeature("x2"));
+
+		assertThrows(IllegalArgumentException.class, () -> anonymousSchema.findLabelFeature((ScalarLabel)anonymousSchema.getLabel()));
+
+		Schema subSchema = schema.toSubSchema(new int[]{1, 2});
+
+		assertSame(duplicateX1, subSchema.findFeature("x1"));
+		assertEquals(0, subSchema.indexOf(x2));
+		assertEquals(-1, subSchema.indexOf(x1));
+	}
+
+	@Test
+	public void modifyFeatures(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Feature x1 = createContinuousFeature(encoder, "x1");
+		Feature x2 = createContinuousFeature(encoder, "x2");
+
+		List<Feature> features = new ArrayList<>(Arrays.asList(x1, x2));
+
+		Schema schema = new Schema(encoder, null, features);
+
+		assertSame(x1, schema.findFeature("x1"));
+		assertEquals(1, schema.indexOf(x2));
+
+		// The schema sees changes to the original list
+		features.remove(0);
+
+		assertNull(schema.findFeature("x1"));
+		assertEquals(0, schema.indexOf(x2));
+
+		features.add(0, x1);
+
+		assertSame(x1, schema.findFeature("x1"));
+		assertEquals(1, schema.indexOf(x2));
+
+		Feature x3 = createContinuousFeature(encoder, "x3");
+
+		features.set(1, x3);
+
+		assertNull(schema.findFeature("x2"));
+		assertSame(x3, schema.findFeature("x3"));
+
+		Schema anonymousSchema = schema.toAnonymousSchema();
+
+		List<Feature> schemaFeatures = (List<Feature>)schema.getFeatures();
+
+		// The schema and its relabeled schemas see changes to their own list
+		schemaFeatures.remove(0);
+
+		assertNull(anonymousSchema.findFeature("x1"));
+		assertEquals(0, anonymousSchema.indexOf(x3));
+		assertEquals(Arrays.asList(x3), features);
+
+		schemaFeatures.set(0, x2);
+
+		assertNull(schema.findFeature("x3"));
+		assertSame(x2, FeatureUtil.findFeature(schema.getFeatures(), "x2"));
+
+		schemaFeatures.add(x3);
+
+		// Replacements are not structural modifications
+		List<Feature> subFeatures = schemaFeatures.subList(0, 2);
+
+		subFeatures.set(0, x1);
+
+		assertSame(x1, subFeatures.get(0));
+
+		int i = 0;
+
+		for(Feature feature : schemaFeatures){
+			schemaFeatures.set(i++, feature);
+		}
+
+		assertSame(x1, schema.findFeature("x1"));
+		assertEquals(0, schema.indexOf(x1));
+		assertEquals(1, schema.indexOf(x3));
+	}
+
+	@Test
+	public void toSubSchema(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<Feature> features = Arrays.asList(createContinuousFeature(encoder, "x1"), createContinuousFeature(encoder, "x2"), createContinuousFeature(encoder, "x3"));
+
+		Schema schema = new Schema(encoder, null, features);
+
+		int[] indexes = {2, 0};
+
+		Schema subSchema = schema.toSubSchema(indexes);
+
+		indexes[0] = 1;
+
+		assertEquals(Arrays.asList(features.get(2), features.get(0)), subSchema.getFeatures());
+
+		Schema subSubSchema = subSchema.toSubSchema(new int[]{1});
+
+		assertEquals(Arrays.asList(features.get(0)), subSubSchema.getFeatures());
+
+		assertThrows(IndexOutOfBoundsException.class, () -> subSchema.toSubSchema(new int[]{2}));
+
+		// Sub-schema feature lists are unmodifiable views of the parent feature list
+		assertThrows(UnsupportedOperationException.class, () -> ((List<Feature>)subSchema.getFeatures()).add(features.get(1)));
+		assertThrows(UnsupportedOperationException.class, () -> ((List<Feature>)subSchema.getFeatures()).set(0, features.get(1)));
+
+		Feature x4 = createContinuousFeature(encoder, "x4");
+
+		features.set(0, x4);
+
+		assertEquals(Arrays.asList(features.get(2), x4), subSchema.getFeatures());
+		assertEquals(Arrays.asList(x4), subSubSchema.getFeatures());
+
+		assertSame(x4, subSubSchema.findFeature("x4"));
+		assertEquals(1, subSchema.indexOf(x4));
+	}
+
+	@Test
+	public void toTransformedSchema(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<Feature> features = Arrays.asList(createContinuousFeature(encoder, "x1"), createContinuousFeature(encoder, "x2"));
+
+		Schema schema = new Schema(encoder, null, features);
+
+		AtomicInteger count = new AtomicInteger(0);
+
+		Schema transformedSchema = schema.toTransformedSchema(feature -> {
+			count.incrementAndGet();
+
+			return feature.toContinuousFeature(DataType.FLOAT);
+		});
+
+		// The function is applied eagerly, in feature order
+		assertEquals(2, count.get());
+
+		assertEquals(Arrays.asList("float(x1)", "float(x2)"), new ArrayList<>((encoder.getDerivedFields()).keySet()));
+
+		Feature feature = transformedSchema.getFeature(1);
+
+		assertEquals("float(x2)", feature.getName());
+		assertSame(feature, transformedSchema.findFeature("float(x2)"));
+
+		assertEquals(2, count.get());
+	}
+}
@@ -19,11 +19,15 @@
 package org.jpmml.converter;
 
 import java.util.Arrays;
+import java.util.List;
 
+import com.google.common.math.DoubleMath;
 import org.dmg.pmml.DataType;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class TypeUtilTest {
 
@@ -42,4 +46,72 @@ public class TypeUtilTest {
 		assertEquals(DataType.STRING, TypeUtil.getDataType(Arrays.asList("1", "2.1", "3")));
 		assertEquals(DataType.STRING, TypeUtil.getDataType(Arrays.asList("1", "two", "3")));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void classify(){
+		String[] values = {
+			"", " ", "+", "-", ".", "+.", "-.5", ".5", "5.", "1", "-1", "+1", " 1 ", "\t1\n",
+			"2147483647", "2147483648", "-2147483649", "123456789012345678", "1234567890123456789012345",
+			"1.0", "1.5", "-0.0", "1e3", "1E-3", "1e+3", "1e", "1e+", "1e-x", "1.5e3x",
+			"1f", "1.5F", "1d", "1D", "1dd", "1x", "0x10", "0x1p3", "1 2", "1,5",
+			"NaN", "-NaN", "Infinity", "-Infinity", "Inf", "NaNx", "No", "Italy", "one", "x1",
+			"\u0663", "1\u0663", "\u00a01", "1\u00a0",
+		};
+
+		for(String value : values){
+			DataType dataType = TypeUtil.classify(value);
+
+			if(dataType != null){
+				assertEquals(getDataType(value), dataType, value);
+			}
+
+			assertEquals(getDataType(value), TypeUtil.getDataType(value), value);
+		}
+
+		assertNull(TypeUtil.classify("0x10"));
+		assertNull(TypeUtil.classify("\u0663"));
+	}
+
+	@Test
+	public void getDataTypeNonExhaustive(){
+		List<Object> values = Arrays.asList("1", "two", 3);
+
+		try {
+			TypeUtil.getDataType(values);
+
+			fail();
+		} catch(IllegalArgumentException iae){
+			// Ignored
+		}
+
+		assertEquals(DataType.STRING, TypeUtil.getDataType(values, null, false));
+		assertEquals(DataType.STRING, TypeUtil.getDataType(Arrays.asList("1", "2.1", "3"), null, false));
+		assertEquals(DataType.INTEGER, TypeUtil.getDataType(Arrays.asList("1", "2.0", "3"), null, false));
+	}
+
+	/**
+	 * @see TypeUtil#getDataType(String)
+	 */
+	static
+	private DataType getDataType(String value){
+
+		try {
+			Integer.parseInt(value);
+
+			return DataType.INTEGER;
+		} catch(NumberFormatException integerNfe){
+
+			try {
+				double doubleValue = Double.parseDouble(value);
+
+				if(DoubleMath.isMathematicalInteger(doubleValue)){
+					return DataType.INTEGER;
+				}
+
+				return DataType.DOUBLE;
+			} catch(NumberFormatException doubleNfe){
+				return DataType.STRING;
+			}
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ValueManagerTest {
+
+	@Test
+	public void fork(){
+		FlagManager flagManager = new FlagManager(Collections.singletonMap("x", Boolean.TRUE));
+
+		FlagManager leftFlagManager = flagManager.fork("y", Boolean.TRUE);
+		FlagManager rightFlagManager = flagManager.fork("x", Boolean.FALSE);
+
+		assertEquals(Collections.singletonMap("x", Boolean.TRUE), flagManager.getValueMap());
+
+		assertEquals(Boolean.TRUE, leftFlagManager.getValue("x"));
+		assertEquals(Boolean.TRUE, leftFlagManager.getValue("y"));
+		assertEquals(Arrays.asList("x", "y"), new ArrayList<>((leftFlagManager.getValueMap()).keySet()));
+
+		assertEquals(Boolean.FALSE, rightFlagManager.getValue("x"));
+		assertNull(rightFlagManager.getValue("y"));
+
+		CategoryManager categoryManager = new CategoryManager()
+			.fork("x", Arrays.asList("a", "b", "c"));
+
+		categoryManager = categoryManager.fork("x", Arrays.asList("a", "b"));
+
+		assertEquals(Set.of("a", "b"), categoryManager.getValue("x"));
+
+		assertTrue((categoryManager.getValueFilter("x")).test("a"));
+		assertFalse((categoryManager.getValueFilter("x")).test("c"));
+		assertTrue((categoryManager.getValueFilter("y")).test("c"));
+	}
+
+	@Test
+	public void getValueMap(){
+		Map<String, Boolean> valueMap = new LinkedHashMap<>();
+		valueMap.put("x", Boolean.TRUE);
+
+		FlagManager flagManager = new FlagManager(valueMap);
+
+		assertSame(valueMap, flagManager.getValueMap());
+
+		FlagManager forkedFlagManager = flagManager.fork("y", Boolean.FALSE);
+
+		valueMap.put("z", Boolean.TRUE);
+
+		assertEquals(Boolean.TRUE, flagManager.getValue("z"));
+		assertNull(forkedFlagManager.getValue("z"));
+
+		Map<String, Boolean> forkedValueMap = forkedFlagManager.getValueMap();
+
+		assertSame(forkedValueMap, forkedFlagManager.getValueMap());
+
+		forkedValueMap.put("z", Boolean.FALSE);
+
+		assertEquals(Boolean.FALSE, forkedFlagManager.getValue("z"));
+		assertEquals(Boolean.FALSE, (forkedFlagManager.fork("w", Boolean.TRUE)).getValue("z"));
+
+		forkedFlagManager = forkedFlagManager.fork(null, Boolean.TRUE);
+
+		assertEquals(Boolean.TRUE, forkedFlagManager.getValue(null));
+	}
+
+	@Test
+	public void persistentMap(){
+		Map<String, Integer> expectedMap = new LinkedHashMap<>();
+
+		PersistentMap<Integer> map = PersistentMap.empty();
+
+		for(int i = 0; i < 10000; i++){
+			String key = "x" + (i % 5000);
+
+			expectedMap.put(key, i);
+
+			map = map.put(key, i);
+		}
+
+		// Keys with colliding hash codes
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+
+		PersistentMap<Integer> collisionMap = map
+			.put("Aa", -1)
+			.put("BB", -2);
+
+		assertEquals(5000, map.size());
+		assertEquals(5002, collisionMap.size());
+
+		assertEquals(expectedMap, map.toMap());
+		assertEquals(new ArrayList<>(expectedMap.keySet()), new ArrayList<>((map.toMap()).keySet()));
+
+		assertNull(map.get("Aa"));
+
+		assertEquals((Integer)(-1), collisionMap.get("Aa"));
+		assertEquals((Integer)(-2), collisionMap.get("BB"));
+		assertEquals((Integer)9999, collisionMap.get("x4999"));
+
+		collisionMap = collisionMap.put("BB", -3);
+
+		assertEquals((Integer)(-1), collisionMap.get("Aa"));
+		assertEquals((Integer)(-3), collisionMap.get("BB"));
+	}
+}
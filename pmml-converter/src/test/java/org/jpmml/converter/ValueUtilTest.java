@@ -18,6 +18,11 @@
  */
 package org.jpmml.converter;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.dmg.pmml.MathContext;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -112,4 +117,24 @@ public class ValueUtilTest {
 		assertEquals((short)32767, ValueUtil.narrow(Short.MAX_VALUE));
 		assertEquals((int)32768, ValueUtil.narrow(Short.MAX_VALUE + 1L));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void sum(){
+		List<Number> values = Arrays.asList(1, 2f, 3d);
+
+		assertEquals((Integer)1, ValueUtil.sum(MathContext.DOUBLE, Collections.singletonList(1)));
+
+		assertEquals((Float)6f, ValueUtil.sum(MathContext.FLOAT, values));
+		assertEquals((Double)6d, ValueUtil.sum(MathContext.DOUBLE, values));
+	}
+
+	@Test
+	public void product(){
+		List<Number> values = Arrays.asList(2, 3f, 4d);
+
+		assertEquals((Integer)2, ValueUtil.product(MathContext.DOUBLE, Collections.singletonList(2)));
+
+		assertEquals((Float)24f, ValueUtil.product(MathContext.FLOAT, values));
+		assertEquals((Double)24d, ValueUtil.product(MathContext.DOUBLE, values));
+	}
+}
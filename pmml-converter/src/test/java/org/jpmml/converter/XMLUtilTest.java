@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class XMLUtilTest {
+
+	@Test
+	public void createTagName(){
+		String name = "x_1";
+
+		assertSame(name, XMLUtil.createTagName(name));
+
+		assertEquals("x_x0020_1", XMLUtil.createTagName("x 1"));
+		assertEquals("_x0031_x", XMLUtil.createTagName("1x"));
+		assertEquals("x_x0028_1_x0029_", XMLUtil.createTagName("x(1)"));
+	}
+}
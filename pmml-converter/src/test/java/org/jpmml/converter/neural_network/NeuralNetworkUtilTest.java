@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.neural_network;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.dmg.pmml.neural_network.Connection;
+import org.dmg.pmml.neural_network.NeuralInput;
+import org.dmg.pmml.neural_network.NeuralLayer;
+import org.dmg.pmml.neural_network.Neuron;
+import org.jpmml.converter.CMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NeuralNetworkUtilTest {
+
+	@Test
+	public void createNeuralLayer(){
+		List<NeuralInput> neuralInputs = Arrays.asList(
+			new NeuralInput().setId("input/1"),
+			new NeuralInput().setId("input/2"),
+			new NeuralInput().setId("input/3")
+		);
+
+		int rows = 100;
+
+		double[][] weights = new double[rows][];
+		double[] biases = new double[rows];
+
+		for(int row = 0; row < rows; row++){
+			weights[row] = new double[]{row, 0d, (row % 2 == 0) ? Double.NaN : -1d};
+			biases[row] = (row % 3);
+		}
+
+		NeuralLayer serialNeuralLayer = NeuralNetworkUtil.createNeuralLayer(neuralInputs, weights, biases, "hidden");
+
+		NeuralLayer neuralLayer;
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+			neuralLayer = NeuralNetworkUtil.createNeuralLayer(neuralInputs, weights, biases, "hidden", forkJoinPool);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		List<Neuron> serialNeurons = serialNeuralLayer.getNeurons();
+		List<Neuron> neurons = neuralLayer.getNeurons();
+
+		assertEquals(rows, serialNeurons.size());
+		assertEquals(rows, neurons.size());
+
+		for(int row = 0; row < rows; row++){
+			Neuron serialNeuron = serialNeurons.get(row);
+			Neuron neuron = neurons.get(row);
+
+			assertEquals(serialNeuron.requireId(), neuron.requireId());
+			assertEquals(serialNeuron.getBias(), neuron.getBias());
+			assertEquals((serialNeuron.getConnections()).size(), (neuron.getConnections()).size());
+
+			assertEquals("hidden/" + (row + 1), neuron.requireId());
+
+			if(row % 3 == 0){
+				assertNull(neuron.getBias());
+			} else
+
+			{
+				assertEquals((double)(row % 3), neuron.getBias());
+			}
+
+			List<String> ids = (neuron.getConnections()).stream()
+				.map(Connection::requireFrom)
+				.collect(Collectors.toList());
+
+			if(row == 0){
+				assertFalse(neuron.hasConnections());
+			} else
+
+			if(row % 2 == 0){
+				assertEquals(Arrays.asList("input/1"), ids);
+			} else
+
+			{
+				assertEquals(Arrays.asList("input/1", "input/3"), ids);
+			}
+		}
+
+		CMatrix<Double> weightMatrix = new CMatrix<>(Arrays.asList(1d, 0d, 2d, 0d, 0d, 3d), 2, 3);
+
+		neuralLayer = NeuralNetworkUtil.createNeuralLayer(neuralInputs, weightMatrix, null, "output");
+
+		neurons = neuralLayer.getNeurons();
+
+		assertEquals(2, neurons.size());
+
+		assertEquals(Arrays.asList(1d, 2d), (neurons.get(0)).getConnections().stream().map(Connection::requireWeight).collect(Collectors.toList()));
+		assertEquals(Arrays.asList(3d), (neurons.get(1)).getConnections().stream().map(Connection::requireWeight).collect(Collectors.toList()));
+	}
+}
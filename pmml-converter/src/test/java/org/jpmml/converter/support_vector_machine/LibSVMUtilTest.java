@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.support_vector_machine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.support_vector_machine.Coefficient;
+import org.dmg.pmml.support_vector_machine.LinearKernel;
+import org.dmg.pmml.support_vector_machine.SupportVector;
+import org.dmg.pmml.support_vector_machine.SupportVectorMachine;
+import org.dmg.pmml.support_vector_machine.SupportVectorMachineModel;
+import org.dmg.pmml.support_vector_machine.VectorDictionary;
+import org.dmg.pmml.support_vector_machine.VectorFields;
+import org.dmg.pmml.support_vector_machine.VectorInstance;
+import org.jpmml.converter.CMatrix;
+import org.jpmml.converter.CategoricalLabel;
+import org.jpmml.converter.ContinuousLabel;
+import org.jpmml.converter.Feature;
+import org.jpmml.converter.ModelEncoder;
+import org.jpmml.converter.ModelTest;
+import org.jpmml.converter.Schema;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LibSVMUtilTest extends ModelTest {
+
+	@Test
+	public void createVectorDictionary(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<Feature> features = Arrays.asList(
+			createContinuousFeature(encoder, "x1"),
+			createContinuousFeature(encoder, "x2"),
+			createContinuousFeature(encoder, "x3"),
+			createContinuousFeature(encoder, "x4")
+		);
+
+		Schema schema = new Schema(encoder, new ContinuousLabel(DataType.DOUBLE), features);
+
+		int rows = 1000;
+
+		List<Double> values = new ArrayList<>();
+		List<String> ids = new ArrayList<>();
+
+		for(int row = 0; row < rows; row++){
+			values.add((row % 2 == 0) ? (double)row : 0d);
+			values.add(0d);
+			values.add((row % 5 == 0) ? 1d : 0d);
+			values.add((double)(row + 1));
+
+			ids.add(String.valueOf(row + 1));
+		}
+
+		CMatrix<Double> sv = new CMatrix<>(values, rows, features.size());
+
+		VectorDictionary serialVectorDictionary = LibSVMUtil.createVectorDictionary(sv, ids, schema);
+
+		VectorDictionary parallelVectorDictionary;
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+			parallelVectorDictionary = LibSVMUtil.createVectorDictionary(sv, ids, schema, forkJoinPool);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		VectorFields vectorFields = parallelVectorDictionary.requireVectorFields();
+
+		assertEquals(3, (vectorFields.getContent()).size());
+
+		List<VectorInstance> serialVectorInstances = serialVectorDictionary.getVectorInstances();
+		List<VectorInstance> parallelVectorInstances = parallelVectorDictionary.getVectorInstances();
+
+		assertEquals(rows, serialVectorInstances.size());
+		assertEquals(rows, parallelVectorInstances.size());
+
+		for(int row = 0; row < rows; row++){
+			VectorInstance serialVectorInstance = serialVectorInstances.get(row);
+			VectorInstance parallelVectorInstance = parallelVectorInstances.get(row);
+
+			assertEquals(ids.get(row), parallelVectorInstance.requireId());
+			assertEquals(serialVectorInstance.requireId(), parallelVectorInstance.requireId());
+
+			assertNull(parallelVectorInstance.getRealSparseArray());
+			assertNotNull(parallelVectorInstance.getArray());
+
+			assertEquals((serialVectorInstance.getArray()).getValue(), (parallelVectorInstance.getArray()).getValue());
+		}
+	}
+
+	@Test
+	public void createClassification(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<Feature> features = Arrays.asList(
+			createContinuousFeature(encoder, "x1"),
+			createContinuousFeature(encoder, "x2")
+		);
+
+		CategoricalLabel categoricalLabel = new CategoricalLabel(DataType.STRING, Arrays.asList("a", "b", "c"));
+
+		Schema schema = new Schema(encoder, categoricalLabel, features);
+
+		CMatrix<Double> sv = new CMatrix<>(Arrays.asList(1d, 0d, 1d, 0d, 0d, 1d, 2d, 2d), 4, 2);
+
+		List<Double> coefs = Arrays.asList(
+			0.5d, 0.25d, -1d, -1d,
+			1d, 1d, 1d, -1d
+		);
+
+		SupportVectorMachineModel supportVectorMachineModel = LibSVMUtil.createClassification(new LinearKernel(), sv, Arrays.asList(2, 1, 1), Arrays.asList("1", "2", "3", "4"), Arrays.asList(0d, 0d, 0d), coefs, schema);
+
+		VectorDictionary vectorDictionary = supportVectorMachineModel.requireVectorDictionary();
+
+		List<VectorInstance> vectorInstances = vectorDictionary.getVectorInstances();
+
+		assertEquals(Arrays.asList("1", "3", "4"), vectorInstances.stream().map(VectorInstance::requireId).collect(Collectors.toList()));
+
+		List<SupportVectorMachine> supportVectorMachines = supportVectorMachineModel.getSupportVectorMachines();
+
+		assertEquals(3, supportVectorMachines.size());
+
+		SupportVectorMachine supportVectorMachine = supportVectorMachines.get(0);
+
+		List<SupportVector> supportVectors = (supportVectorMachine.getSupportVectors()).getSupportVectors();
+		List<Coefficient> coefficients = (supportVectorMachine.requireCoefficients()).getCoefficients();
+
+		assertEquals(Arrays.asList("1", "3"), supportVectors.stream().map(SupportVector::requireVectorId).collect(Collectors.toList()));
+		assertEquals(Arrays.asList(0.5d + 0.25d, -1d), coefficients.stream().map(Coefficient::getValue).collect(Collectors.toList()));
+	}
+}
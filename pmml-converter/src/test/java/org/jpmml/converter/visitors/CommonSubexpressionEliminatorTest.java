@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.dmg.pmml.Apply;
+import org.dmg.pmml.DataDictionary;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.Header;
+import org.dmg.pmml.LocalTransformations;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.TransformationDictionary;
+import org.dmg.pmml.True;
+import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segment;
+import org.dmg.pmml.mining.Segmentation;
+import org.dmg.pmml.regression.NumericPredictor;
+import org.dmg.pmml.regression.RegressionModel;
+import org.dmg.pmml.regression.RegressionTable;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.converter.ExpressionUtil;
+import org.jpmml.converter.FieldNameUtil;
+import org.jpmml.evaluator.Evaluator;
+import org.jpmml.evaluator.EvaluatorUtil;
+import org.jpmml.evaluator.ModelEvaluatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CommonSubexpressionEliminatorTest {
+
+	@Test
+	public void eliminate(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField y = new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(x, y);
+
+		DerivedField a = new DerivedField("a", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, createLogPlusOne(x), ExpressionUtil.createConstant(2)));
+		DerivedField b = new DerivedField("b", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.ADD, createLogPlusOne(x), new FieldRef(y)));
+
+		DerivedField c = new DerivedField("c", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.LN, new FieldRef(y)));
+		DerivedField d = new DerivedField("d", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createApply(PMMLFunctions.LN, new FieldRef(y)), ExpressionUtil.createConstant(3)));
+
+		TransformationDictionary transformationDictionary = new TransformationDictionary()
+			.addDerivedFields(a, b, c, d);
+
+		DerivedField first = new DerivedField("first", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createApply(PMMLFunctions.EXP, new FieldRef(y)), ExpressionUtil.createConstant(1.5d)));
+		DerivedField second = new DerivedField("second", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createApply(PMMLFunctions.EXP, new FieldRef(y)), ExpressionUtil.createConstant(2.5d)));
+
+		TreeModel firstTreeModel = new TreeModel()
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(first));
+
+		TreeModel secondTreeModel = new TreeModel()
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(second));
+
+		Segmentation segmentation = new Segmentation(Segmentation.MultipleModelMethod.SUM, null)
+			.addSegments(new Segment(True.INSTANCE, firstTreeModel), new Segment(True.INSTANCE, secondTreeModel));
+
+		MiningModel miningModel = new MiningModel()
+			.setSegmentation(segmentation);
+
+		PMML pmml = new PMML()
+			.setDataDictionary(dataDictionary)
+			.setTransformationDictionary(transformationDictionary)
+			.addModels(miningModel);
+
+		CommonSubexpressionEliminator eliminator = new CommonSubexpressionEliminator();
+		eliminator.applyTo(pmml);
+
+		DerivedField logPlusOne = transformationDictionary.getDerivedFields().get(0);
+
+		assertEquals(FieldNameUtil.create("cse", 1), logPlusOne.requireName());
+		assertEquals(DataType.DOUBLE, logPlusOne.requireDataType());
+		assertEquals(PMMLFunctions.LN, ((Apply)logPlusOne.requireExpression()).requireFunction());
+
+		assertEquals(Arrays.asList(logPlusOne, a, b, c, d), transformationDictionary.getDerivedFields());
+
+		checkFieldRef(logPlusOne, getArgument(a, 0));
+		checkFieldRef(logPlusOne, getArgument(b, 0));
+
+		// Reuses the existing field
+		checkFieldRef(c, getArgument(d, 0));
+
+		LocalTransformations localTransformations = miningModel.getLocalTransformations();
+
+		DerivedField exp = localTransformations.getDerivedFields().get(0);
+
+		assertEquals(FieldNameUtil.create("cse", 2), exp.requireName());
+		assertEquals(PMMLFunctions.EXP, ((Apply)exp.requireExpression()).requireFunction());
+
+		checkFieldRef(exp, getArgument(first, 0));
+		checkFieldRef(exp, getArgument(second, 0));
+	}
+
+	@Test
+	public void eliminateAndEvaluate(){
+		DataField y = new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField target = new DataField("target", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(y, target);
+
+		DerivedField first = new DerivedField("first", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createApply(PMMLFunctions.EXP, new FieldRef(y)), ExpressionUtil.createConstant(2d)));
+		DerivedField second = new DerivedField("second", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createApply(PMMLFunctions.EXP, new FieldRef(y)), ExpressionUtil.createConstant(1d)));
+
+		RegressionModel firstRegressionModel = new RegressionModel(MiningFunction.REGRESSION, new MiningSchema().addMiningFields(new MiningField(y)), null)
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(first))
+			.addRegressionTables(new RegressionTable(0d).addNumericPredictors(new NumericPredictor(first, 1d)));
+
+		RegressionModel secondRegressionModel = new RegressionModel(MiningFunction.REGRESSION, new MiningSchema().addMiningFields(new MiningField(y)), null)
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(second))
+			.addRegressionTables(new RegressionTable(0d).addNumericPredictors(new NumericPredictor(second, 1d)));
+
+		Segmentation segmentation = new Segmentation(Segmentation.MultipleModelMethod.SUM, null)
+			.addSegments(new Segment(True.INSTANCE, firstRegressionModel), new Segment(True.INSTANCE, secondRegressionModel));
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, new MiningSchema().addMiningFields(new MiningField(target).setUsageType(MiningField.UsageType.TARGET), new MiningField(y)))
+			.setSegmentation(segmentation);
+
+		PMML pmml = new PMML("4.4", new Header(), dataDictionary)
+			.addModels(miningModel);
+
+		CommonSubexpressionEliminator eliminator = new CommonSubexpressionEliminator();
+		eliminator.applyTo(pmml);
+
+		DerivedField exp = miningModel.getLocalTransformations().getDerivedFields().get(0);
+
+		assertEquals(FieldNameUtil.create("cse", 1), exp.requireName());
+
+		checkFieldRef(exp, getArgument(first, 0));
+		checkFieldRef(exp, getArgument(second, 0));
+
+		assertEquals(Arrays.asList("y", exp.requireName()), getMiningFieldNames(firstRegressionModel));
+		assertEquals(Arrays.asList("y", exp.requireName()), getMiningFieldNames(secondRegressionModel));
+
+		Evaluator evaluator = new ModelEvaluatorBuilder(pmml)
+			.build();
+
+		evaluator.verify();
+
+		Map<String, ?> arguments = Collections.singletonMap("y", 0.5d);
+
+		Map<String, ?> results = EvaluatorUtil.decodeAll(evaluator.evaluate(arguments));
+
+		assertEquals(3d * Math.exp(0.5d) + 1d, (Double)results.get("target"), 1e-13);
+	}
+
+	@Test
+	public void eliminateValueTreatment(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField target = new DataField("target", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(x, target);
+
+		DerivedField first = new DerivedField("first", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, createLogPlusOne(x), ExpressionUtil.createConstant(2d)));
+		DerivedField second = new DerivedField("second", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, createLogPlusOne(x), ExpressionUtil.createConstant(2d)));
+
+		RegressionModel firstRegressionModel = new RegressionModel(MiningFunction.REGRESSION, new MiningSchema().addMiningFields(new MiningField(x).setMissingValueReplacement(3d)), null)
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(first))
+			.addRegressionTables(new RegressionTable(0d).addNumericPredictors(new NumericPredictor(first, 1d)));
+
+		RegressionModel secondRegressionModel = new RegressionModel(MiningFunction.REGRESSION, new MiningSchema().addMiningFields(new MiningField(x).setMissingValueReplacement(3d)), null)
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(second))
+			.addRegressionTables(new RegressionTable(0d).addNumericPredictors(new NumericPredictor(second, 1d)));
+
+		Segmentation segmentation = new Segmentation(Segmentation.MultipleModelMethod.SUM, null)
+			.addSegments(new Segment(True.INSTANCE, firstRegressionModel), new Segment(True.INSTANCE, secondRegressionModel));
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, new MiningSchema().addMiningFields(new MiningField(target).setUsageType(MiningField.UsageType.TARGET), new MiningField(x)))
+			.setSegmentation(segmentation);
+
+		PMML pmml = new PMML("4.4", new Header(), dataDictionary)
+			.addModels(miningModel);
+
+		Map<String, ?> arguments = Collections.singletonMap("x", null);
+
+		Map<String, ?> expectedResults = evaluate(pmml, arguments);
+
+		assertEquals(4d * Math.log(4d), (Double)expectedResults.get("target"), 1e-13);
+
+		CommonSubexpressionEliminator eliminator = new CommonSubexpressionEliminator();
+		eliminator.applyTo(pmml);
+
+		// The segment models replace missing values before the expression is evaluated
+		assertNull(miningModel.getLocalTransformations());
+
+		assertEquals(Arrays.asList("x"), getMiningFieldNames(firstRegressionModel));
+		assertEquals(Arrays.asList("x"), getMiningFieldNames(secondRegressionModel));
+
+		assertEquals(expectedResults, evaluate(pmml, arguments));
+	}
+
+	@Test
+	public void eliminateDerivedFields(){
+		DataField y = new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(y);
+
+		DerivedField first = new DerivedField("first", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.EXP, new FieldRef(y)));
+		DerivedField second = new DerivedField("second", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.EXP, new FieldRef(y)));
+
+		TreeModel firstTreeModel = new TreeModel()
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(first));
+
+		TreeModel secondTreeModel = new TreeModel()
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(second));
+
+		Segmentation segmentation = new Segmentation(Segmentation.MultipleModelMethod.SUM, null)
+			.addSegments(new Segment(True.INSTANCE, firstTreeModel), new Segment(True.INSTANCE, secondTreeModel));
+
+		MiningModel miningModel = new MiningModel()
+			.setSegmentation(segmentation);
+
+		PMML pmml = new PMML()
+			.setDataDictionary(dataDictionary)
+			.addModels(miningModel);
+
+		CommonSubexpressionEliminator eliminator = new CommonSubexpressionEliminator();
+		eliminator.applyTo(pmml);
+
+		// Hoisting would only replace both expressions with aliases
+		assertNull(miningModel.getLocalTransformations());
+
+		assertEquals(PMMLFunctions.EXP, ((Apply)first.requireExpression()).requireFunction());
+		assertEquals(PMMLFunctions.EXP, ((Apply)second.requireExpression()).requireFunction());
+	}
+
+	@Test
+	public void eliminateUntyped(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(x);
+
+		DerivedField a = new DerivedField("a", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createApply("x-custom", new FieldRef(x)), ExpressionUtil.createConstant(2)));
+		DerivedField b = new DerivedField("b", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createApply("x-custom", new FieldRef(x)), ExpressionUtil.createConstant(3)));
+
+		TransformationDictionary transformationDictionary = new TransformationDictionary()
+			.addDerivedFields(a, b);
+
+		PMML pmml = new PMML()
+			.setDataDictionary(dataDictionary)
+			.setTransformationDictionary(transformationDictionary);
+
+		CommonSubexpressionEliminator eliminator = new CommonSubexpressionEliminator();
+		eliminator.applyTo(pmml);
+
+		// The result data type of a user-defined function is unknown
+		assertEquals(Arrays.asList(a, b), transformationDictionary.getDerivedFields());
+	}
+
+	static
+	private Map<String, ?> evaluate(PMML pmml, Map<String, ?> arguments){
+		Evaluator evaluator = new ModelEvaluatorBuilder(pmml)
+			.build();
+
+		evaluator.verify();
+
+		return EvaluatorUtil.decodeAll(evaluator.evaluate(arguments));
+	}
+
+	static
+	private Apply createLogPlusOne(DataField dataField){
+		return ExpressionUtil.createApply(PMMLFunctions.LN, ExpressionUtil.createApply(PMMLFunctions.ADD, new FieldRef(dataField), ExpressionUtil.createConstant(1)));
+	}
+
+	static
+	private List<String> getMiningFieldNames(Model model){
+		MiningSchema miningSchema = model.requireMiningSchema();
+
+		List<String> result = new ArrayList<>();
+
+		for(MiningField miningField : miningSchema.getMiningFields()){
+			result.add(miningField.requireName());
+		}
+
+		return result;
+	}
+
+	static
+	private Expression getArgument(DerivedField derivedField, int index){
+		Apply apply = (Apply)derivedField.requireExpression();
+
+		return apply.getExpressions().get(index);
+	}
+
+	static
+	private void checkFieldRef(DerivedField derivedField, Expression expression){
+		FieldRef fieldRef = (FieldRef)expression;
+
+		assertEquals(derivedField.requireName(), fieldRef.requireField());
+	}
+}
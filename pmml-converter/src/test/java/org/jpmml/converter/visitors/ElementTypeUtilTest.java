@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Collections;
+
+import org.dmg.pmml.Apply;
+import org.dmg.pmml.DataDictionary;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.mining.Segment;
+import org.dmg.pmml.tree.BranchNode;
+import org.dmg.pmml.tree.LeafNode;
+import org.dmg.pmml.tree.TreeModel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ElementTypeUtilTest {
+
+	@Test
+	public void canContain(){
+		assertTrue(ElementTypeUtil.canContain(PMML.class, Collections.singleton(DataField.class)));
+		assertTrue(ElementTypeUtil.canContain(DataDictionary.class, Collections.singleton(DataField.class)));
+		assertFalse(ElementTypeUtil.canContain(TreeModel.class, Collections.singleton(DataField.class)));
+
+		assertTrue(ElementTypeUtil.canContain(TreeModel.class, Collections.singleton(Model.class)));
+		assertTrue(ElementTypeUtil.canContain(Segment.class, Collections.singleton(Model.class)));
+		assertFalse(ElementTypeUtil.canContain(BranchNode.class, Collections.singleton(Model.class)));
+
+		assertTrue(ElementTypeUtil.canContain(BranchNode.class, Collections.singleton(Apply.class)));
+		assertFalse(ElementTypeUtil.canContain(LeafNode.class, Collections.singleton(Apply.class)));
+		assertFalse(ElementTypeUtil.canContain(SimplePredicate.class, Collections.singleton(Apply.class)));
+	}
+}
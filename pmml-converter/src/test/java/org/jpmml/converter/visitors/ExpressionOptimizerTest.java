@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.dmg.pmml.Apply;
+import org.dmg.pmml.Constant;
+import org.dmg.pmml.DataDictionary;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.Header;
+import org.dmg.pmml.LocalTransformations;
+import org.dmg.pmml.MathContext;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.Output;
+import org.dmg.pmml.OutputField;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.ResultFeature;
+import org.dmg.pmml.TransformationDictionary;
+import org.dmg.pmml.regression.NumericPredictor;
+import org.dmg.pmml.regression.RegressionModel;
+import org.dmg.pmml.regression.RegressionTable;
+import org.jpmml.converter.ExpressionUtil;
+import org.jpmml.converter.FieldNameUtil;
+import org.jpmml.converter.ValueUtil;
+import org.jpmml.evaluator.Evaluator;
+import org.jpmml.evaluator.EvaluatorUtil;
+import org.jpmml.evaluator.ModelEvaluatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpressionOptimizerTest {
+
+	@Test
+	public void optimize(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField n = new DataField("n", OpType.CONTINUOUS, DataType.INTEGER);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(x, n);
+
+		DerivedField constant = new DerivedField("c", OpType.CONTINUOUS, DataType.INTEGER, ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(2), ExpressionUtil.createConstant(3)));
+
+		DerivedField product = new DerivedField("product", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef(x), ExpressionUtil.createApply(PMMLFunctions.ADD, new FieldRef(constant), ExpressionUtil.createConstant(1.5d))));
+
+		DerivedField identity = new DerivedField("identity", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.SUBTRACT, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createConstant(1), new FieldRef(x)), ExpressionUtil.createConstant(0d)));
+
+		DerivedField widening = new DerivedField("widening", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef(n), ExpressionUtil.createConstant(1d)));
+
+		DerivedField condition = new DerivedField("condition", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.IF, ExpressionUtil.createConstant(DataType.BOOLEAN, true), new FieldRef(x), ExpressionUtil.createConstant(0d)));
+
+		Apply missingAware = ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(1), ExpressionUtil.createConstant(2))
+			.setMapMissingTo(0);
+
+		DerivedField custom = new DerivedField("custom", OpType.CONTINUOUS, DataType.INTEGER, missingAware);
+
+		TransformationDictionary transformationDictionary = new TransformationDictionary()
+			.addDerivedFields(constant, product, identity, widening, condition, custom);
+
+		DerivedField sum = new DerivedField("sum", OpType.CONTINUOUS, DataType.FLOAT, ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(0.1d), ExpressionUtil.createConstant(0.2d)));
+
+		DerivedField floatSum = new DerivedField("floatSum", OpType.CONTINUOUS, DataType.FLOAT, ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(0.1f), ExpressionUtil.createConstant(0.2f)));
+
+		RegressionModel regressionModel = new RegressionModel()
+			.setMathContext(MathContext.FLOAT)
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(sum, floatSum));
+
+		PMML pmml = new PMML()
+			.setDataDictionary(dataDictionary)
+			.setTransformationDictionary(transformationDictionary)
+			.addModels(regressionModel);
+
+		ExpressionOptimizer optimizer = new ExpressionOptimizer();
+		optimizer.applyTo(pmml);
+
+		checkConstant(DataType.INTEGER, ValueUtil.narrow(5L), constant.requireExpression());
+
+		Apply apply = (Apply)product.requireExpression();
+
+		assertEquals(PMMLFunctions.MULTIPLY, apply.requireFunction());
+
+		Expression left = apply.getExpressions().get(0);
+		Expression right = apply.getExpressions().get(1);
+
+		assertTrue(left instanceof FieldRef);
+		checkConstant(DataType.DOUBLE, 6.5d, right);
+
+		assertEquals(x.requireName(), ((FieldRef)identity.requireExpression()).requireField());
+
+		apply = (Apply)widening.requireExpression();
+
+		assertEquals(Arrays.asList(PMMLFunctions.MULTIPLY, 2), Arrays.asList(apply.requireFunction(), apply.getExpressions().size()));
+
+		assertEquals(x.requireName(), ((FieldRef)condition.requireExpression()).requireField());
+
+		assertSame(missingAware, custom.requireExpression());
+
+		// The math context of the model does not apply to expressions
+		checkConstant(DataType.DOUBLE, 0.1d + 0.2d, sum.requireExpression());
+
+		checkConstant(DataType.FLOAT, (float)((double)0.1f + (double)0.2f), floatSum.requireExpression());
+	}
+
+	@Test
+	public void optimizeTypeSensitive(){
+		DataField s = new DataField("s", OpType.CATEGORICAL, DataType.STRING);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(s);
+
+		// Integer division
+		Apply quotientApply = ExpressionUtil.createApply(PMMLFunctions.DIVIDE, ExpressionUtil.createConstant(7), ExpressionUtil.createConstant(2));
+
+		DerivedField quotient = new DerivedField("quotient", OpType.CONTINUOUS, DataType.INTEGER, quotientApply);
+
+		// Type error
+		Apply textApply = ExpressionUtil.createApply(PMMLFunctions.ADD, new FieldRef(s), ExpressionUtil.createConstant(0));
+
+		DerivedField text = new DerivedField("text", OpType.CONTINUOUS, DataType.DOUBLE, textApply);
+
+		// Integer overflow
+		Apply overflowApply = ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(Integer.MAX_VALUE), ExpressionUtil.createConstant(1));
+
+		DerivedField overflow = new DerivedField("overflow", OpType.CONTINUOUS, DataType.INTEGER, overflowApply);
+
+		TransformationDictionary transformationDictionary = new TransformationDictionary()
+			.addDerivedFields(quotient, text, overflow);
+
+		PMML pmml = new PMML()
+			.setDataDictionary(dataDictionary)
+			.setTransformationDictionary(transformationDictionary);
+
+		ExpressionOptimizer optimizer = new ExpressionOptimizer();
+		optimizer.applyTo(pmml);
+
+		assertSame(quotientApply, quotient.requireExpression());
+		assertSame(textApply, text.requireExpression());
+		assertSame(overflowApply, overflow.requireExpression());
+
+		assertEquals(2, (textApply.getExpressions()).size());
+	}
+
+	@Test
+	public void optimizeAndEvaluate(){
+		Map<String, ?> arguments = Collections.singletonMap("x", 2d);
+
+		Map<String, ?> expectedResults = evaluate(createPMML(), arguments);
+
+		PMML pmml = createPMML();
+
+		ExpressionOptimizer optimizer = new ExpressionOptimizer();
+		optimizer.applyTo(pmml);
+
+		Map<String, ?> results = evaluate(pmml, arguments);
+
+		assertEquals(expectedResults, results);
+		assertEquals(2d * (0.1d + 0.2d), results.get(FieldNameUtil.create("transformed", "sum")));
+	}
+
+	static
+	private PMML createPMML(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField y = new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DataDictionary dataDictionary = new DataDictionary()
+			.addDataFields(x, y);
+
+		DerivedField sum = new DerivedField("sum", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef(x), ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(0.1d), ExpressionUtil.createConstant(0.2d))));
+		DerivedField floatSum = new DerivedField("floatSum", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef(x), ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(0.1f), ExpressionUtil.createConstant(0.2f))));
+		DerivedField log = new DerivedField("log", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef(x), ExpressionUtil.createApply(PMMLFunctions.LN, ExpressionUtil.createConstant(3f))));
+
+		Output output = new Output();
+
+		for(DerivedField derivedField : Arrays.asList(sum, floatSum, log)){
+			OutputField outputField = new OutputField(FieldNameUtil.create("transformed", derivedField.requireName()), OpType.CONTINUOUS, DataType.DOUBLE)
+				.setResultFeature(ResultFeature.TRANSFORMED_VALUE)
+				.setExpression(new FieldRef(derivedField));
+
+			output.addOutputFields(outputField);
+		}
+
+		MiningSchema miningSchema = new MiningSchema()
+			.addMiningFields(new MiningField(y).setUsageType(MiningField.UsageType.TARGET), new MiningField(x));
+
+		RegressionModel regressionModel = new RegressionModel(MiningFunction.REGRESSION, miningSchema, null)
+			.setMathContext(MathContext.FLOAT)
+			.setLocalTransformations(new LocalTransformations().addDerivedFields(sum, floatSum, log))
+			.addRegressionTables(new RegressionTable(0d).addNumericPredictors(new NumericPredictor(x, 1d)))
+			.setOutput(output);
+
+		PMML pmml = new PMML("4.4", new Header(), dataDictionary)
+			.addModels(regressionModel);
+
+		return pmml;
+	}
+
+	static
+	private Map<String, ?> evaluate(PMML pmml, Map<String, ?> arguments){
+		Evaluator evaluator = new ModelEvaluatorBuilder(pmml)
+			.build();
+
+		evaluator.verify();
+
+		return EvaluatorUtil.decodeAll(evaluator.evaluate(arguments));
+	}
+
+	static
+	private void checkConstant(DataType dataType, Object value, Expression expression){
+		Constant constant = (Constant)expression;
+
+		assertEquals(dataType, constant.getDataType());
+		assertEquals(value, constant.getValue());
+	}
+}
@@ -18,16 +18,20 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
 import org.dmg.pmml.DerivedField;
 import org.dmg.pmml.Field;
+import org.dmg.pmml.OpType;
 import org.dmg.pmml.OutputField;
 import org.dmg.pmml.PMML;
 import org.dmg.pmml.Visitor;
@@ -39,6 +43,7 @@ import org.jpmml.model.visitors.AbstractVisitor;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class FieldDependencyResolverTest {
 
@@ -140,6 +145,44 @@ public class FieldDependencyResolverTest {
 		visitor.applyTo(pmml);
 	}
 
+	@Test
+	public void expand(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DerivedField a = new DerivedField("a", OpType.CONTINUOUS, DataType.DOUBLE, null);
+		DerivedField b = new DerivedField("b", OpType.CONTINUOUS, DataType.DOUBLE, null);
+		DerivedField c = new DerivedField("c", OpType.CONTINUOUS, DataType.DOUBLE, null);
+
+		FieldDependencyResolver resolver = new FieldDependencyResolver();
+
+		Map<Field<?>, Set<Field<?>>> dependencies = resolver.getDependencies();
+		dependencies.put(x, Collections.emptySet());
+		dependencies.put(a, new LinkedHashSet<>(Arrays.asList(x)));
+		dependencies.put(b, new LinkedHashSet<>(Arrays.asList(a)));
+		dependencies.put(c, new LinkedHashSet<>(Arrays.asList(a, b)));
+
+		Set<Field<?>> fields = new LinkedHashSet<>(Arrays.asList(c, x));
+
+		Set<Field<?>> expandedFields = resolver.expand(fields, new HashSet<>(Arrays.asList(a, b, c)));
+
+		assertEquals(Arrays.asList(x), new ArrayList<>(fields));
+		assertEquals(Arrays.asList(c, a, b), new ArrayList<>(expandedFields));
+
+		fields = new LinkedHashSet<>(Arrays.asList(c));
+
+		expandedFields = resolver.expand(fields, new HashSet<>(Arrays.asList(b, c)));
+
+		assertEquals(Arrays.asList(a), new ArrayList<>(fields));
+		assertEquals(Arrays.asList(c, b), new ArrayList<>(expandedFields));
+
+		dependencies.put(a, new LinkedHashSet<>(Arrays.asList(x, c)));
+
+		FieldDependencyResolver cyclicResolver = new FieldDependencyResolver();
+		cyclicResolver.getDependencies().putAll(dependencies);
+
+		assertThrows(IllegalStateException.class, () -> cyclicResolver.expand(new LinkedHashSet<>(Arrays.asList(c)), new HashSet<>(Arrays.asList(a, b, c))));
+	}
+
 	static
 	private void checkFields(Collection<String> names, Set<Field<?>> fields){
 		assertEquals(new HashSet<>(names), FieldUtil.nameSet(fields));
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.dmg.pmml.Apply;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.PMMLFunctions;
+import org.jpmml.converter.ExpressionUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FieldNameCacheTest {
+
+	@Test
+	public void getFieldNames(){
+		Apply apply = ExpressionUtil.createApply(PMMLFunctions.ADD, new FieldRef("x"), new FieldRef("y"));
+
+		assertNotSame(FieldNameCache.getFieldNames(apply), FieldNameCache.getFieldNames(apply));
+
+		FieldNameCache.run(() -> {
+			Set<String> names = FieldNameCache.getFieldNames(apply);
+
+			assertEquals(new HashSet<>(Arrays.asList("x", "y")), names);
+			assertSame(names, FieldNameCache.getFieldNames(apply));
+
+			apply.getExpressions().set(1, new FieldRef("z"));
+
+			FieldNameCache.invalidate();
+
+			names = FieldNameCache.getFieldNames(apply);
+
+			assertEquals(new HashSet<>(Arrays.asList("x", "z")), names);
+		});
+
+		assertNull(FieldNameCache.current());
+	}
+
+	@Test
+	public void invalidate(){
+		Apply apply = ExpressionUtil.createApply(PMMLFunctions.AND, ExpressionUtil.createApply(PMMLFunctions.AND, new FieldRef("x"), new FieldRef("y")), new FieldRef("z"));
+
+		FieldNameCache.run(() -> {
+			Set<String> names = FieldNameCache.getFieldNames(apply);
+
+			ExpressionCompactor compactor = new ExpressionCompactor();
+			compactor.applyTo(apply);
+
+			assertEquals(3, apply.getExpressions().size());
+
+			assertNotSame(names, FieldNameCache.getFieldNames(apply));
+			assertEquals(names, FieldNameCache.getFieldNames(apply));
+		});
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.Field;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.OutputField;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FieldScopeTest {
+
+	@Test
+	public void selectAll(){
+		DataField x1 = new DataField("x1", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField x2 = new DataField("x2", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField x3 = new DataField("x3", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		List<Field<?>> fields = Arrays.asList(x1, x2, x3);
+
+		FieldScope scope = new FieldScope(fields);
+
+		Set<String> names = new LinkedHashSet<>(Arrays.asList("x3", "x1"));
+
+		assertEquals(Arrays.asList(x1, x3), scope.selectAll(names));
+		assertEquals(new ArrayList<>(FieldUtil.selectAll(fields, names)), scope.selectAll(names));
+
+		names = new LinkedHashSet<>(Arrays.asList("x2", "y"));
+
+		assertThrows(IllegalArgumentException.class, () -> scope.selectAll(Collections.singleton("y")));
+
+		assertEquals(Arrays.asList(x2), scope.selectAll(names, true));
+	}
+
+	@Test
+	public void selectAllChained(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		OutputField y = new OutputField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+		OutputField z = new OutputField("z", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		FieldScope parentScope = new FieldScope(Collections.singletonList(x));
+
+		FieldScope childScope = new FieldScope(parentScope, Collections.singletonList(y));
+		FieldScope grandChildScope = new FieldScope(childScope, Collections.singletonList(z));
+
+		Set<String> names = new LinkedHashSet<>(Arrays.asList("x", "y", "z"));
+
+		assertEquals(Arrays.asList(x), parentScope.selectAll(names, true));
+		assertEquals(Arrays.asList(y, x), childScope.selectAll(names, true));
+		assertEquals(Arrays.asList(z, y, x), grandChildScope.selectAll(names));
+
+		OutputField shadowX = new OutputField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		FieldScope shadowingScope = new FieldScope(parentScope, Collections.singletonList(shadowX));
+
+		assertEquals(Arrays.asList(x), parentScope.selectAll(Collections.singleton("x")));
+
+		assertThrows(IllegalArgumentException.class, () -> shadowingScope.selectAll(Collections.singleton("x")));
+	}
+
+	@Test
+	public void selectAllDuplicate(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField duplicateX = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField y = new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		FieldScope scope = new FieldScope(Arrays.asList(x, duplicateX, y));
+
+		assertEquals(Arrays.asList(y), scope.selectAll(Collections.singleton("y")));
+
+		assertThrows(IllegalArgumentException.class, () -> scope.selectAll(Collections.singleton("x")));
+	}
+}
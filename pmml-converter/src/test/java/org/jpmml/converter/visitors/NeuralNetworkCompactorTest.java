@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.LinearNorm;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.NormContinuous;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.neural_network.Connection;
+import org.dmg.pmml.neural_network.NeuralInput;
+import org.dmg.pmml.neural_network.NeuralInputs;
+import org.dmg.pmml.neural_network.NeuralLayer;
+import org.dmg.pmml.neural_network.NeuralNetwork;
+import org.dmg.pmml.neural_network.NeuralOutput;
+import org.dmg.pmml.neural_network.NeuralOutputs;
+import org.dmg.pmml.neural_network.Neuron;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NeuralNetworkCompactorTest {
+
+	@Test
+	public void compact(){
+		NormContinuous normContinuous = new NormContinuous("x1", null)
+			.addLinearNorms(new LinearNorm(2d, 0d), new LinearNorm(12d, 1d));
+
+		NeuralInput firstInput = new NeuralInput()
+			.setId("input/1")
+			.setDerivedField(new DerivedField(null, OpType.CONTINUOUS, DataType.DOUBLE, normContinuous));
+
+		NeuralInput secondInput = new NeuralInput()
+			.setId("input/2")
+			.setDerivedField(new DerivedField(null, OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("x2")));
+
+		NeuralInputs neuralInputs = new NeuralInputs()
+			.addNeuralInputs(firstInput, secondInput);
+
+		NeuralLayer identityLayer = new NeuralLayer()
+			.setActivationFunction(NeuralNetwork.ActivationFunction.IDENTITY)
+			.addNeurons(
+				new Neuron("identity/1", null).setBias(1d).addConnections(new Connection("input/1", 2d), new Connection("input/2", 3d)),
+				new Neuron("identity/2", null).addConnections(new Connection("input/2", -1d))
+			);
+
+		NeuralLayer logisticLayer = new NeuralLayer()
+			.addNeurons(
+				new Neuron("logistic/1", null).setBias(0.5d).addConnections(new Connection("identity/1", 4d), new Connection("identity/2", 5d))
+			);
+
+		NeuralOutputs neuralOutputs = new NeuralOutputs()
+			.addNeuralOutputs(new NeuralOutput("logistic/1", new DerivedField(null, OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("y"))));
+
+		NeuralNetwork neuralNetwork = new NeuralNetwork(MiningFunction.REGRESSION, NeuralNetwork.ActivationFunction.LOGISTIC, new MiningSchema(), neuralInputs, null)
+			.addNeuralLayers(identityLayer, logisticLayer)
+			.setNeuralOutputs(neuralOutputs);
+
+		NeuralNetworkCompactor compactor = new NeuralNetworkCompactor();
+		compactor.applyTo(neuralNetwork);
+
+		assertTrue((firstInput.requireDerivedField()).requireExpression() instanceof FieldRef);
+
+		List<NeuralLayer> neuralLayers = neuralNetwork.getNeuralLayers();
+
+		assertEquals(Arrays.asList(logisticLayer), neuralLayers);
+
+		Neuron neuron = (logisticLayer.getNeurons()).get(0);
+
+		// x1' = (x1 - 2) / 10 = 0.1 * x1 - 0.2
+		// identity/1 = 1 + 2 * x1' + 3 * x2 = 0.6 + 0.2 * x1 + 3 * x2
+		// identity/2 = -1 * x2
+		// logistic/1 = 0.5 + 4 * identity/1 + 5 * identity/2 = 2.9 + 0.8 * x1 + 7 * x2
+		assertEquals(0.5d + 4d * (1d + 2d * -0.2d), (neuron.getBias()).doubleValue(), 1e-13);
+
+		List<String> froms = (neuron.getConnections()).stream()
+			.map(Connection::requireFrom)
+			.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("input/1", "input/2"), froms);
+
+		assertEquals(0.8d, ((neuron.getConnections()).get(0).requireWeight()).doubleValue(), 1e-13);
+		assertEquals(7d, ((neuron.getConnections()).get(1).requireWeight()).doubleValue(), 1e-13);
+	}
+
+	@Test
+	public void compactReferencedLayer(){
+		NeuralInputs neuralInputs = new NeuralInputs()
+			.addNeuralInputs(new NeuralInput().setId("input/1").setDerivedField(new DerivedField(null, OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("x"))));
+
+		NeuralLayer identityLayer = new NeuralLayer()
+			.setActivationFunction(NeuralNetwork.ActivationFunction.IDENTITY)
+			.addNeurons(new Neuron("identity/1", null).addConnections(new Connection("input/1", 2d)));
+
+		NeuralLayer logisticLayer = new NeuralLayer()
+			.addNeurons(new Neuron("logistic/1", null).addConnections(new Connection("identity/1", 4d)));
+
+		NeuralOutputs neuralOutputs = new NeuralOutputs()
+			.addNeuralOutputs(
+				new NeuralOutput("logistic/1", new DerivedField(null, OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("y1"))),
+				new NeuralOutput("identity/1", new DerivedField(null, OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("y2")))
+			);
+
+		NeuralNetwork neuralNetwork = new NeuralNetwork(MiningFunction.REGRESSION, NeuralNetwork.ActivationFunction.LOGISTIC, new MiningSchema(), neuralInputs, null)
+			.addNeuralLayers(identityLayer, logisticLayer)
+			.setNeuralOutputs(neuralOutputs);
+
+		NeuralNetworkCompactor compactor = new NeuralNetworkCompactor();
+		compactor.applyTo(neuralNetwork);
+
+		assertEquals(Arrays.asList(identityLayer, logisticLayer), neuralNetwork.getNeuralLayers());
+
+		Neuron neuron = (logisticLayer.getNeurons()).get(0);
+
+		assertNull(neuron.getBias());
+	}
+}
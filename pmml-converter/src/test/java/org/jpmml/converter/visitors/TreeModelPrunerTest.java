@@ -18,8 +18,12 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dmg.pmml.False;
 import org.dmg.pmml.MiningField;
@@ -27,6 +31,9 @@ import org.dmg.pmml.MiningFunction;
 import org.dmg.pmml.MiningSchema;
 import org.dmg.pmml.SimplePredicate;
 import org.dmg.pmml.True;
+import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segment;
+import org.dmg.pmml.mining.Segmentation;
 import org.dmg.pmml.tree.BranchNode;
 import org.dmg.pmml.tree.ComplexNode;
 import org.dmg.pmml.tree.LeafNode;
@@ -35,6 +42,7 @@ import org.dmg.pmml.tree.TreeModel;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class TreeModelPrunerTest {
 
@@ -113,6 +121,100 @@ public class TreeModelPrunerTest {
 		assertEquals(Arrays.asList(firstGrandchild, secondGrandchild), parent.getNodes());
 	}
 
+	@Test
+	public void pruneSegments(){
+		MiningModel miningModel = createMiningModel(16);
+
+		TreeModelPruner pruner = new TreeModelPruner();
+		pruner.applyTo(miningModel);
+
+		checkSegments(miningModel);
+
+		miningModel = createMiningModel(16);
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+			pruner = new TreeModelPruner(forkJoinPool);
+			pruner.applyTo(miningModel);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		checkSegments(miningModel);
+	}
+
+	@Test
+	public void pruneSegmentsWithSubclass(){
+		MiningModel miningModel = createMiningModel(16);
+
+		AtomicInteger count = new AtomicInteger(0);
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+			TreeModelPruner pruner = new TreeModelPruner(forkJoinPool){
+
+				@Override
+				public void enterTreeModel(TreeModel treeModel){
+					super.enterTreeModel(treeModel);
+
+					count.incrementAndGet();
+				}
+			};
+			pruner.applyTo(miningModel);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		// The overriding method is invoked for every segment tree model
+		assertEquals(16, count.get());
+
+		checkSegments(miningModel);
+	}
+
+	static
+	private MiningModel createMiningModel(int size){
+		List<Segment> segments = new ArrayList<>();
+
+		for(int i = 0; i < size; i++){
+			Node root = new ComplexNode()
+				.setPredicate(True.INSTANCE)
+				.addNodes(
+					new LeafNode(1, False.INSTANCE),
+					new LeafNode(2, True.INSTANCE)
+				);
+
+			TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, new MiningSchema(), root);
+
+			Segment segment = new Segment(True.INSTANCE, treeModel)
+				.setId(String.valueOf(i + 1));
+
+			segments.add(segment);
+		}
+
+		Segmentation segmentation = new Segmentation(Segmentation.MultipleModelMethod.SUM, segments);
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, new MiningSchema())
+			.setSegmentation(segmentation);
+
+		return miningModel;
+	}
+
+	static
+	private void checkSegments(MiningModel miningModel){
+		List<Segment> segments = (miningModel.requireSegmentation()).requireSegments();
+
+		for(Segment segment : segments){
+			TreeModel treeModel = (TreeModel)segment.requireModel();
+
+			Node root = treeModel.requireNode();
+
+			assertFalse(root.hasNodes());
+			assertEquals(2, root.getScore());
+		}
+	}
+
 	static
 	private void prune(Node node){
 		Node root = new ComplexNode()